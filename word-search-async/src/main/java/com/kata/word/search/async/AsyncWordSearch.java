@@ -0,0 +1,122 @@
+package com.kata.word.search.async;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Solves many input files concurrently without blocking the caller on the
+ * parsing or the search. Each file is solved on a virtual thread when the JDK
+ * has them, on a pool of one thread per core otherwise.
+ *
+ * At most a given number of files are solved at a time: submitting one more
+ * waits until a file is solved, so the side listing the files can't get ahead
+ * of the solvers.
+ */
+public class AsyncWordSearch implements AutoCloseable {
+
+	private static final int DEFAULT_MAX_PENDING = 1024;
+
+	private final ExecutorService executor;
+	private final boolean virtualThreads;
+	private final Semaphore pending;
+
+	public AsyncWordSearch() {
+		this(DEFAULT_MAX_PENDING);
+	}
+
+	/**
+	 * @param maxPending number of files submitted and not solved yet, above which
+	 *                   {@link #solve(Path)} waits
+	 */
+	public AsyncWordSearch(int maxPending) {
+		if (maxPending < 1) {
+			throw new IllegalArgumentException("The number of pending files must be positive");
+		}
+
+		ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+		virtualThreads = virtualThreadExecutor != null;
+		executor = virtualThreads ? virtualThreadExecutor
+				: Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		pending = new Semaphore(maxPending);
+	}
+
+	/**
+	 * One new virtual thread per task, null if the JDK has no virtual threads or
+	 * the system property word.search.virtual.threads is false
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		if (!Boolean.parseBoolean(System.getProperty("word.search.virtual.threads", "true"))) {
+			return null;
+		}
+
+		try {
+			// Looked up by reflection, the module is built for JDKs without virtual threads
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			// Missing before Java 19, failing when they are a preview feature that is not enabled
+			return null;
+		}
+	}
+
+	/**
+	 * True if the files are solved on virtual threads
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Reads the file and finds its words, like {@link WordSearch#getWords()}. The
+	 * future fails with the exception thrown when the file can't be read, is
+	 * invalid or a word is missing. Waits first while too many files are pending.
+	 */
+	public CompletableFuture<List<Word>> solve(Path path) throws InterruptedException {
+		pending.acquire();
+		CompletableFuture<List<Word>> words = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					words.complete(new WordSearch(path).getWords());
+				} catch (Exception e) {
+					words.completeExceptionally(e);
+				} finally {
+					pending.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pending.release();
+			words.completeExceptionally(e);
+		}
+		return words;
+	}
+
+	/**
+	 * Publishes the words of the file one at a time, in order, like
+	 * {@link WordSearch#findWord(String)}: a word that is not in the grid is
+	 * published as not found. The file is read once a subscriber requests a word,
+	 * and a word is only searched when the subscriber has requested it. Each
+	 * subscriber reads the file again.
+	 */
+	public Flow.Publisher<Word> publish(Path path) {
+		return new WordPublisher(path, executor);
+	}
+
+	/**
+	 * Solves the files already submitted, waiting for them, and stops the threads
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,117 @@
+package com.kata.word.search.async;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Reads a file and searches its words on the executor, as many words as the
+ * subscriber requested. The subscriber is called by one task at a time.
+ */
+class WordPublisher implements Flow.Publisher<Word> {
+
+	private final Path path;
+	private final Executor executor;
+
+	WordPublisher(Path path, Executor executor) {
+		this.path = path;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super Word> subscriber) {
+		Objects.requireNonNull(subscriber);
+		subscriber.onSubscribe(new WordSubscription(subscriber));
+	}
+
+	private final class WordSubscription implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super Word> subscriber;
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicInteger drains = new AtomicInteger(); // requests not handled yet by the running task
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+
+		// Only read and written by the running task
+		private WordSearch wordSearch;
+		private List<String> words;
+		private int next;
+
+		WordSubscription(Flow.Subscriber<? super Word> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("The number of words requested must be positive");
+			} else {
+				requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		private void drain() {
+			if (drains.getAndIncrement() == 0) {
+				try {
+					executor.execute(this::run);
+				} catch (RejectedExecutionException e) {
+					cancelled = true;
+					subscriber.onError(e);
+				}
+			}
+		}
+
+		/**
+		 * Publishes the requested words, until no more are requested while running
+		 */
+		private void run() {
+			int missed = 1;
+			do {
+				while (!cancelled) {
+					if (invalidRequest != null) {
+						fail(invalidRequest);
+					} else if (wordSearch == null && requested.get() > 0) {
+						load();
+					} else if (wordSearch != null && next == words.size()) {
+						cancelled = true;
+						subscriber.onComplete();
+					} else if (wordSearch != null && requested.get() > 0) {
+						requested.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+						subscriber.onNext(wordSearch.findWord(words.get(next++)));
+					} else {
+						break;
+					}
+				}
+				missed = drains.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void load() {
+			try {
+				wordSearch = new WordSearch(path);
+				words = wordSearch.getWordsToFind();
+			} catch (Exception e) {
+				fail(e);
+			}
+		}
+
+		private void fail(Throwable error) {
+			cancelled = true;
+			subscriber.onError(error);
+		}
+	}
+}
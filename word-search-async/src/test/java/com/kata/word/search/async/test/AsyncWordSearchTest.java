@@ -0,0 +1,144 @@
+package com.kata.word.search.async.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.kata.word.search.async.AsyncWordSearch;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class AsyncWordSearchTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void whenSolveManyFilesAsynchronouslyAndReturnTheSameWords() throws Exception {
+		Random random = new Random(3);
+		List<Path> paths = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			paths.add(writePuzzle("puzzle" + i + ".txt", random, ""));
+		}
+
+		List<CompletableFuture<List<Word>>> results = new ArrayList<>();
+		try (AsyncWordSearch asyncWordSearch = new AsyncWordSearch(4)) {
+			assertEquals(Runtime.version().feature() >= 21, asyncWordSearch.isVirtualThreads());
+			for (Path path : paths) {
+				results.add(asyncWordSearch.solve(path));
+			}
+			for (int i = 0; i < paths.size(); i++) {
+				assertEquals(new WordSearch(paths.get(i)).getWords().toString(),
+						results.get(i).get(10, TimeUnit.SECONDS).toString());
+			}
+		}
+	}
+
+	@Test
+	public void whenSolveAFileWithAMissingWordAndTheFutureFails() throws Exception {
+		Path path = writePuzzle("missing.txt", new Random(5), ",ZZZZZZ");
+		System.setProperty("word.search.virtual.threads", "false");
+		AsyncWordSearch asyncWordSearch;
+		try {
+			asyncWordSearch = new AsyncWordSearch(1);
+		} finally {
+			System.clearProperty("word.search.virtual.threads");
+		}
+
+		try (asyncWordSearch) {
+			assertFalse(asyncWordSearch.isVirtualThreads());
+			CompletionException failure = assertThrows(CompletionException.class,
+					() -> asyncWordSearch.solve(path).join());
+			assertTrue(failure.getCause() instanceof WordNotFoundException);
+		}
+	}
+
+	@Test
+	public void whenPublishTheWordsOfAFileAndOnlyTheRequestedWordsAreSearched() throws Exception {
+		Path path = writePuzzle("published.txt", new Random(7), ",ZZZZZZ");
+		String expected = new WordSearch(path).findWords().toString();
+
+		List<Word> received = new ArrayList<>();
+		CountDownLatch completed = new CountDownLatch(1);
+		try (AsyncWordSearch asyncWordSearch = new AsyncWordSearch()) {
+			asyncWordSearch.publish(path).subscribe(new Flow.Subscriber<Word>() {
+
+				private Flow.Subscription subscription;
+
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					this.subscription = subscription;
+					subscription.request(1);
+				}
+
+				@Override
+				public void onNext(Word word) {
+					// One word at a time, the next one is only requested once this one is received
+					received.add(word);
+					subscription.request(1);
+				}
+
+				@Override
+				public void onError(Throwable error) {
+					received.clear();
+					completed.countDown();
+				}
+
+				@Override
+				public void onComplete() {
+					completed.countDown();
+				}
+			});
+			assertTrue(completed.await(10, TimeUnit.SECONDS));
+		}
+		assertEquals(expected, received.toString());
+		assertEquals(Match.NOT_FOUND, received.get(received.size() - 1).getMatch());
+	}
+
+	/**
+	 * Random grid with words read forwards and backwards in its rows, followed by
+	 * the extra words
+	 */
+	private Path writePuzzle(String name, Random random, String extraWords) throws Exception {
+		int size = 10 + random.nextInt(20);
+		char[][] letters = new char[size][size];
+		StringBuilder grid = new StringBuilder();
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				letters[y][x] = (char) ('A' + random.nextInt(26));
+				grid.append(x == 0 ? "" : ",").append(letters[y][x]);
+			}
+			grid.append('\n');
+		}
+
+		StringBuilder words = new StringBuilder();
+		for (int i = 0; i < 8; i++) {
+			int y = random.nextInt(size);
+			int x = random.nextInt(size - 3);
+			StringBuilder word = new StringBuilder(new String(letters[y], x, 3 + random.nextInt(size - x - 2)));
+			words.append(i == 0 ? "" : ",").append(i % 2 == 0 ? word : word.reverse());
+		}
+
+		Path path = directory.resolve(name);
+		Files.write(path, (words + extraWords + "\n" + grid).getBytes(StandardCharsets.US_ASCII));
+		return path;
+	}
+}
@@ -0,0 +1,151 @@
+package com.kata.word.search.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Solves every file of a corpus on a pool of workers, then reports the latency
+ * percentiles of a single file and the number of files solved per second. The
+ * corpus is generated first with {@link PuzzleGenerator} when a number of files
+ * is given.
+ */
+public class LoadTest {
+
+	/** Latency of a file that couldn't be solved */
+	public static final long FAILED = -1;
+
+	private final int threads;
+	private final PrintStream report;
+
+	public LoadTest(int threads, PrintStream report) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive");
+		}
+		this.threads = threads;
+		this.report = report;
+	}
+
+	/**
+	 * Writes the files of a corpus in the directory, file i being generated with
+	 * seed + i
+	 */
+	public static List<Path> generate(Path directory, int files, long seed, int gridSize, int wordCount,
+			int decoys) throws IOException {
+		Files.createDirectories(directory);
+		List<Path> paths = new ArrayList<>(files);
+		int maxLength = Math.max(3, Math.min(10, gridSize));
+		for (int i = 0; i < files; i++) {
+			Path path = directory.resolve(String.format("puzzle-%06d.txt", i));
+			List<String> words = PuzzleGenerator.randomWords(seed + i, wordCount, Math.min(3, maxLength), maxLength,
+					null);
+			new PuzzleGenerator(seed + i, gridSize, words, PuzzleGenerator.parseDirections(null), decoys, null)
+					.write(path);
+			paths.add(path);
+		}
+		return paths;
+	}
+
+	/**
+	 * Solves the files, returns the latency of each file in nanoseconds, or
+	 * {@link #FAILED} if it couldn't be solved
+	 */
+	public long[] run(List<Path> paths) throws InterruptedException {
+		long[] latencies = new long[paths.size()];
+		AtomicInteger errors = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+		for (int i = 0; i < paths.size(); i++) {
+			int index = i;
+			executor.execute(() -> {
+				long fileStart = System.nanoTime();
+				boolean solved = false;
+				try {
+					new WordSearch(paths.get(index)).print();
+					solved = true;
+				} catch (IOException | InvalidWordException | InvalidGridException | WordNotFoundException e) {
+					report.println("ERROR: " + paths.get(index) + ": " + e.getMessage());
+				} catch (RuntimeException e) {
+					report.println("ERROR: " + paths.get(index) + ": " + e);
+				} finally {
+					// Errors such as OutOfMemoryError are counted before going on
+					if (solved) {
+						latencies[index] = System.nanoTime() - fileStart;
+					} else {
+						latencies[index] = FAILED;
+						errors.incrementAndGet();
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		// Failed files are left out of the percentiles
+		long[] sorted = Arrays.stream(latencies).filter(latency -> latency != FAILED).sorted().toArray();
+		report.println(String.format(
+				"Solved %d files (%d errors) on %d threads in %.3f s, %.1f files/sec, latency p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+				paths.size(), errors.get(), threads, seconds, seconds > 0 ? paths.size() / seconds : 0,
+				percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6, percentile(sorted, 100) / 1e6));
+		return latencies;
+	}
+
+	/**
+	 * Nearest rank percentile of sorted values
+	 */
+	static long percentile(long[] sorted, int percent) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * --directory &lt;corpus&gt; [--files &lt;count&gt; --size &lt;count&gt;
+	 * --word-count &lt;count&gt; --decoys &lt;count&gt; --seed &lt;number&gt;]
+	 * [--threads &lt;count&gt;]
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Map<String, String> options = PuzzleGenerator.parseOptions(args);
+		Path directory = Paths.get(options.get("--directory"));
+		int threads = Integer.parseInt(
+				options.getOrDefault("--threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+		List<Path> paths;
+		if (options.containsKey("--files")) {
+			long start = System.nanoTime();
+			paths = generate(directory, Integer.parseInt(options.get("--files")),
+					Long.parseLong(options.getOrDefault("--seed", "1")),
+					Integer.parseInt(options.getOrDefault("--size", "100")),
+					Integer.parseInt(options.getOrDefault("--word-count", "10")),
+					Integer.parseInt(options.getOrDefault("--decoys", "0")));
+			System.err.println(String.format("Generated %d files in %.3f s", paths.size(),
+					(System.nanoTime() - start) / 1e9));
+		} else {
+			try (Stream<Path> files = Files.list(directory)) {
+				paths = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+			}
+		}
+
+		new LoadTest(threads, System.err).run(paths);
+	}
+}
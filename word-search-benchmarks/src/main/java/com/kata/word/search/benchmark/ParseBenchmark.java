@@ -0,0 +1,63 @@
+package com.kata.word.search.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Loading an input file: reading and validating the words and the grid, and
+ * building the line views
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParseBenchmark {
+
+	@Param({ "256", "1024", "4096" })
+	private int gridSize;
+
+	@Param({ "100", "10000", "100000" })
+	private int wordCount;
+
+	private Path input;
+
+	@Setup(Level.Trial)
+	public void writeInput() throws IOException {
+		Random random = new Random(gridSize * 31L + wordCount);
+		byte[] cells = Puzzles.randomGrid(gridSize, random);
+		input = Puzzles.write(cells, gridSize, Puzzles.readWords(cells, gridSize, wordCount, random));
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteInput() throws IOException {
+		Files.deleteIfExists(input);
+	}
+
+	@Benchmark
+	public WordSearch load() throws IOException, InvalidWordException, InvalidGridException {
+		return new WordSearch(input);
+	}
+}
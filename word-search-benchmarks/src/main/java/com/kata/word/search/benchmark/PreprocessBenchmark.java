@@ -0,0 +1,65 @@
+package com.kata.word.search.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.word.search.impl.Grid;
+import com.kata.word.search.impl.GridLine;
+
+/**
+ * Building the views over all the lines of a loaded grid, the work WordSearch
+ * spreads over the searches by creating the view of a line when it is read
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PreprocessBenchmark {
+
+	@Param({ "256", "1024", "4096" })
+	private int gridSize;
+
+	private Grid grid;
+
+	@Setup(Level.Trial)
+	public void createGrid() {
+		grid = new Grid(Puzzles.randomGrid(gridSize, new Random(gridSize)), gridSize, gridSize);
+	}
+
+	@Benchmark
+	public List<GridLine> rowsAndColumns() {
+		List<GridLine> lines = new ArrayList<>();
+		for (int i = 0; i < gridSize; i++) {
+			lines.add(grid.getRow(i));
+			lines.add(grid.getColumn(i));
+		}
+		return lines;
+	}
+
+	@Benchmark
+	public List<GridLine> diagonals() {
+		List<GridLine> lines = new ArrayList<>();
+		for (int i = 0; i < grid.getDiagonalsCount(); i++) {
+			lines.add(grid.getDiagonalAscending(i));
+			lines.add(grid.getDiagonalDescending(i));
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,279 @@
+package com.kata.word.search.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.kata.word.search.impl.Direction;
+
+/**
+ * Writes input files in the format read by the word search, with the words
+ * planted in the grid in the chosen directions and decoys, copies of the words
+ * with their last letter changed. The other cells are random letters drawn with
+ * the given frequencies.
+ *
+ * Only the planted letters are kept in memory, the grid is written one row at a
+ * time so it can be larger than the heap. The same seed always writes the same
+ * file.
+ */
+public class PuzzleGenerator {
+
+	private static final int LETTERS = 26;
+	private static final int MAX_PLACEMENT_ATTEMPTS = 1000;
+
+	private final long seed;
+	private final int gridSize;
+	private final List<String> words;
+	private final Direction[] directions;
+	private final int decoys;
+	private final double[] cumulativeFrequencies;
+
+	/**
+	 * @param letterFrequencies relative frequency of each letter from A to Z, null
+	 *                          for letters equally likely
+	 */
+	public PuzzleGenerator(long seed, int gridSize, List<String> words, Set<Direction> directions, int decoys,
+			double[] letterFrequencies) {
+		if (gridSize < 1) {
+			throw new IllegalArgumentException("The grid size must be positive");
+		}
+		if (directions.isEmpty()) {
+			throw new IllegalArgumentException("At least one direction is needed to plant the words");
+		}
+		for (String word : words) {
+			if (word.length() < 2 || word.length() > gridSize || !word.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+				throw new IllegalArgumentException(
+						String.format("Word [%s] should be 2 to %d upper case letters long", word, gridSize));
+			}
+		}
+
+		this.seed = seed;
+		this.gridSize = gridSize;
+		this.words = new ArrayList<>(words);
+		this.directions = directions.toArray(new Direction[0]);
+		this.decoys = decoys;
+		cumulativeFrequencies = cumulate(letterFrequencies);
+	}
+
+	private static double[] cumulate(double[] letterFrequencies) {
+		double[] cumulative = new double[LETTERS];
+		double total = 0;
+		for (int letter = 0; letter < LETTERS; letter++) {
+			double frequency = letterFrequencies == null ? 1 : letterFrequencies[letter];
+			if (frequency < 0) {
+				throw new IllegalArgumentException("Letter frequencies can't be negative");
+			}
+			total += frequency;
+			cumulative[letter] = total;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("At least one letter must have a positive frequency");
+		}
+		for (int letter = 0; letter < LETTERS; letter++) {
+			cumulative[letter] /= total;
+		}
+		return cumulative;
+	}
+
+	/**
+	 * Random words whose lengths are between the given bounds, drawn with the same
+	 * letter frequencies
+	 */
+	public static List<String> randomWords(long seed, int count, int minLength, int maxLength,
+			double[] letterFrequencies) {
+		double[] cumulative = cumulate(letterFrequencies);
+		Random random = new Random(seed);
+		List<String> words = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int length = minLength + random.nextInt(maxLength - minLength + 1);
+			StringBuilder word = new StringBuilder(length);
+			for (int j = 0; j < length; j++) {
+				word.append(randomLetter(random, cumulative));
+			}
+			words.add(word.toString());
+		}
+		return words;
+	}
+
+	private static char randomLetter(Random random, double[] cumulative) {
+		int letter = Arrays.binarySearch(cumulative, random.nextDouble());
+		letter = letter >= 0 ? letter + 1 : -letter - 1;
+		return (char) ('A' + Math.min(letter, LETTERS - 1));
+	}
+
+	public void write(Path path) throws IOException {
+		try (OutputStream output = Files.newOutputStream(path)) {
+			write(output);
+		}
+	}
+
+	/**
+	 * Writes the input to the stream, the stream is not closed
+	 */
+	public void write(OutputStream stream) throws IOException {
+		Random random = new Random(seed);
+		Map<Long, Byte> planted = plant(random);
+
+		// Planted letters of each row, sorted by column
+		long[][] rows = new long[gridSize][];
+		int[] counts = new int[gridSize];
+		for (long cell : planted.keySet()) {
+			counts[(int) (cell / gridSize)]++;
+		}
+		for (int y = 0; y < gridSize; y++) {
+			rows[y] = new long[counts[y]];
+			counts[y] = 0;
+		}
+		for (long cell : planted.keySet()) {
+			int y = (int) (cell / gridSize);
+			rows[y][counts[y]++] = cell;
+		}
+
+		BufferedOutputStream output = new BufferedOutputStream(stream, 1 << 16);
+		output.write(String.join(",", words).getBytes(StandardCharsets.US_ASCII));
+		output.write('\n');
+		for (int y = 0; y < gridSize; y++) {
+			long[] row = rows[y];
+			Arrays.sort(row);
+			int next = 0;
+			for (int x = 0; x < gridSize; x++) {
+				if (x > 0) {
+					output.write(',');
+				}
+				// Every cell draws a letter, so the random letters don't depend on the planted ones
+				char letter = randomLetter(random, cumulativeFrequencies);
+				if (next < row.length && row[next] == (long) y * gridSize + x) {
+					letter = (char) planted.get(row[next++]).byteValue();
+				}
+				output.write(letter);
+			}
+			output.write('\n');
+		}
+		output.flush();
+	}
+
+	/**
+	 * Places the words then the decoys where they don't overwrite letters already
+	 * placed, returns the letters by cell
+	 */
+	private Map<Long, Byte> plant(Random random) {
+		Map<Long, Byte> planted = new HashMap<>();
+		for (String word : words) {
+			if (!place(word, random, planted)) {
+				throw new IllegalArgumentException(String.format("Word [%s] doesn't fit in the grid", word));
+			}
+		}
+		for (int i = 0; i < decoys && !words.isEmpty(); i++) {
+			char[] decoy = words.get(random.nextInt(words.size())).toCharArray();
+			char last = decoy[decoy.length - 1];
+			decoy[decoy.length - 1] = (char) ('A' + (last - 'A' + 1 + random.nextInt(LETTERS - 1)) % LETTERS);
+			place(new String(decoy), random, planted);
+		}
+		return planted;
+	}
+
+	private boolean place(String word, Random random, Map<Long, Byte> planted) {
+		for (int attempt = 0; attempt < MAX_PLACEMENT_ATTEMPTS; attempt++) {
+			Direction direction = directions[random.nextInt(directions.length)];
+			int x = randomStart(direction.getStepX(), word.length(), random);
+			int y = randomStart(direction.getStepY(), word.length(), random);
+			if (fits(word, x, y, direction, planted)) {
+				for (int i = 0; i < word.length(); i++) {
+					planted.put(cell(x + i * direction.getStepX(), y + i * direction.getStepY()),
+							(byte) word.charAt(i));
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int randomStart(int step, int length, Random random) {
+		if (step == 0) {
+			return random.nextInt(gridSize);
+		}
+		int free = gridSize - length + 1;
+		return step < 0 ? length - 1 + random.nextInt(free) : random.nextInt(free);
+	}
+
+	private boolean fits(String word, int x, int y, Direction direction, Map<Long, Byte> planted) {
+		for (int i = 0; i < word.length(); i++) {
+			Byte letter = planted.get(cell(x + i * direction.getStepX(), y + i * direction.getStepY()));
+			if (letter != null && letter != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long cell(int x, int y) {
+		return (long) y * gridSize + x;
+	}
+
+	/**
+	 * --size &lt;count&gt; --output &lt;file&gt; [--seed &lt;number&gt;] [--words
+	 * &lt;list&gt; | --word-count &lt;count&gt;] [--directions &lt;list&gt;]
+	 * [--decoys &lt;count&gt;] [--letters &lt;26 frequencies&gt;]
+	 */
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = parseOptions(args);
+		long seed = Long.parseLong(options.getOrDefault("--seed", "1"));
+		int gridSize = Integer.parseInt(options.get("--size"));
+		double[] letterFrequencies = parseFrequencies(options.get("--letters"));
+		List<String> words = options.containsKey("--words") ? Arrays.asList(options.get("--words").split(","))
+				: randomWords(seed, Integer.parseInt(options.getOrDefault("--word-count", "10")), 3,
+						Math.max(3, Math.min(10, gridSize)), letterFrequencies);
+
+		new PuzzleGenerator(seed, gridSize, words, parseDirections(options.get("--directions")),
+				Integer.parseInt(options.getOrDefault("--decoys", "0")), letterFrequencies)
+						.write(Paths.get(options.get("--output")));
+	}
+
+	static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			options.put(args[i], args[i + 1]);
+		}
+		return options;
+	}
+
+	/**
+	 * Comma separated direction names, all the directions if null
+	 */
+	static Set<Direction> parseDirections(String list) {
+		if (list == null) {
+			return EnumSet.allOf(Direction.class);
+		}
+		Set<Direction> directions = EnumSet.noneOf(Direction.class);
+		for (String name : list.split(",")) {
+			directions.add(Direction.valueOf(name.trim()));
+		}
+		return directions;
+	}
+
+	/**
+	 * Comma separated frequencies of the letters from A to Z, null if not given
+	 */
+	static double[] parseFrequencies(String list) {
+		if (list == null) {
+			return null;
+		}
+		String[] values = list.split(",");
+		if (values.length != LETTERS) {
+			throw new IllegalArgumentException("A frequency is needed for each of the 26 letters");
+		}
+		return Arrays.stream(values).mapToDouble(value -> Double.parseDouble(value.trim())).toArray();
+	}
+}
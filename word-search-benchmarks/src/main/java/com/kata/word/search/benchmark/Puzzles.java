@@ -0,0 +1,88 @@
+package com.kata.word.search.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.kata.word.search.impl.Direction;
+
+/**
+ * Random square grids and words read from them, so every word is found.
+ */
+final class Puzzles {
+
+	static final int MIN_WORD_LENGTH = 3;
+	static final int MAX_WORD_LENGTH = 10;
+
+	private Puzzles() {
+	}
+
+	static byte[] randomGrid(int gridSize, Random random) {
+		byte[] cells = new byte[gridSize * gridSize];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = (byte) ('A' + random.nextInt(26));
+		}
+		return cells;
+	}
+
+	/**
+	 * Letters read in the direction from a random cell the word fits from
+	 */
+	static String readWord(byte[] cells, int gridSize, Direction direction, int length, Random random) {
+		int x = randomStart(gridSize, direction.getStepX(), length, random);
+		int y = randomStart(gridSize, direction.getStepY(), length, random);
+		StringBuilder word = new StringBuilder(length);
+		for (int i = 0; i < length; i++, x += direction.getStepX(), y += direction.getStepY()) {
+			word.append((char) cells[y * gridSize + x]);
+		}
+		return word.toString();
+	}
+
+	private static int randomStart(int gridSize, int step, int length, Random random) {
+		if (step == 0) {
+			return random.nextInt(gridSize);
+		}
+		int free = gridSize - length + 1;
+		return step < 0 ? length - 1 + random.nextInt(free) : random.nextInt(free);
+	}
+
+	/**
+	 * Words of random length read in random directions
+	 */
+	static List<String> readWords(byte[] cells, int gridSize, int count, Random random) {
+		Direction[] directions = Direction.values();
+		int maxLength = Math.min(MAX_WORD_LENGTH, gridSize);
+		List<String> words = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int length = Math.min(maxLength, MIN_WORD_LENGTH + random.nextInt(MAX_WORD_LENGTH - MIN_WORD_LENGTH + 1));
+			words.add(readWord(cells, gridSize, directions[random.nextInt(directions.length)], length, random));
+		}
+		return words;
+	}
+
+	/**
+	 * Writes a temporary input file in the format read by the word search
+	 */
+	static Path write(byte[] cells, int gridSize, List<String> words) throws IOException {
+		Path path = Files.createTempFile("word-search-benchmark", ".txt");
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+			output.write(String.join(",", words).getBytes("US-ASCII"));
+			output.write('\n');
+			for (int y = 0; y < gridSize; y++) {
+				for (int x = 0; x < gridSize; x++) {
+					if (x > 0) {
+						output.write(',');
+					}
+					output.write(cells[y * gridSize + x]);
+				}
+				output.write('\n');
+			}
+		}
+		return path;
+	}
+}
@@ -0,0 +1,117 @@
+package com.kata.word.search.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.BigramIndex;
+import com.kata.word.search.impl.BitboardIndex;
+import com.kata.word.search.impl.Coordinates;
+import com.kata.word.search.impl.Direction;
+import com.kata.word.search.impl.SuffixArrayIndex;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Searching a single word, found in each direction or missing from the grid,
+ * line by line or with one of the engines
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+	private static final int WORD_LENGTH = 8;
+	private static final String MISSING = "MISSING";
+
+	@Param({ "256", "1024", "4096" })
+	private int gridSize;
+
+	@Param({ "HORIZONTALLY_FORWARDS", "HORIZONTALLY_BACKWARDS", "VERTICALLY_FORWARDS", "VERTICALLY_BACKWARDS",
+			"DIAGONALLY_ASCENDING_FORWARDS", "DIAGONALLY_ASCENDING_BACKWARDS", "DIAGONALLY_DESCENDING_FORWARDS",
+			"DIAGONALLY_DESCENDING_BACKWARDS", MISSING })
+	private String direction;
+
+	@Param({ "LINES", "SUFFIX_ARRAY", "BIGRAM", "BITBOARD" })
+	private String engine;
+
+	private WordSearch wordSearch;
+	private String word;
+
+	@Setup(Level.Trial)
+	public void loadGrid() throws IOException, InvalidWordException, InvalidGridException {
+		Random random = new Random(gridSize);
+		byte[] cells = Puzzles.randomGrid(gridSize, random);
+		Path input = Puzzles.write(cells, gridSize, Collections.singletonList("AB"));
+		try {
+			wordSearch = new WordSearch(input);
+		} finally {
+			Files.delete(input);
+		}
+
+		if (engine.equals("SUFFIX_ARRAY")) {
+			wordSearch = wordSearch.withEngine(new SuffixArrayIndex(wordSearch.getGrid()));
+		} else if (engine.equals("BIGRAM")) {
+			wordSearch = wordSearch.withEngine(new BigramIndex(wordSearch.getGrid()));
+		} else if (engine.equals("BITBOARD")) {
+			wordSearch = wordSearch.withEngine(new BitboardIndex(wordSearch.getGrid()));
+		}
+
+		if (direction.equals(MISSING)) {
+			// Random words this long are almost never in the grid, draw again if one is
+			do {
+				word = randomWord(random, WORD_LENGTH + 2);
+			} while (isFound(word));
+		} else {
+			word = Puzzles.readWord(cells, gridSize, Direction.valueOf(direction), WORD_LENGTH, random);
+		}
+	}
+
+	private static String randomWord(Random random, int length) {
+		StringBuilder word = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			word.append((char) ('A' + random.nextInt(26)));
+		}
+		return word.toString();
+	}
+
+	private boolean isFound(String word) {
+		try {
+			wordSearch.findMatchForWord(word);
+			return true;
+		} catch (WordNotFoundException e) {
+			return false;
+		}
+	}
+
+	@Benchmark
+	public Set<Coordinates> findLocationForWord() {
+		try {
+			return wordSearch.findLocationForWord(word);
+		} catch (WordNotFoundException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.kata.word.search.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Locating all the words of the input and printing them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WordsBenchmark {
+
+	@Param({ "256", "1024", "4096" })
+	private int gridSize;
+
+	@Param({ "100", "10000", "100000" })
+	private int wordCount;
+
+	private WordSearch wordSearch;
+	private String firstLine;
+	private WordSearch solved;
+
+	@Setup(Level.Trial)
+	public void loadInput() throws IOException, InvalidWordException, InvalidGridException, WordNotFoundException {
+		Random random = new Random(gridSize * 31L + wordCount);
+		byte[] cells = Puzzles.randomGrid(gridSize, random);
+		List<String> words = Puzzles.readWords(cells, gridSize, wordCount, random);
+		Path input = Puzzles.write(cells, gridSize, words);
+		try {
+			wordSearch = new WordSearch(input);
+		} finally {
+			Files.delete(input);
+		}
+
+		firstLine = String.join(",", words);
+		solved = wordSearch.withWords(firstLine);
+		solved.getWords();
+	}
+
+	/**
+	 * A word search keeps the words once found, each call searches a copy sharing
+	 * the grid
+	 */
+	@Benchmark
+	public List<Word> getWords() throws InvalidWordException, WordNotFoundException {
+		return wordSearch.withWords(firstLine).getWords();
+	}
+
+	/**
+	 * Formats words already found
+	 */
+	@Benchmark
+	public String print() throws WordNotFoundException {
+		return solved.print();
+	}
+}
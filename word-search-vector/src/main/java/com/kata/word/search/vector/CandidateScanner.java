@@ -0,0 +1,35 @@
+package com.kata.word.search.vector;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Finds the cells a word may start in: its first letter in the cell and its
+ * last letter at a fixed distance from it. The letters in between are checked
+ * by the caller.
+ */
+interface CandidateScanner {
+
+	/**
+	 * Reports in order each cell from the first cell, to the last one excluded,
+	 * holding the first letter while the cell delta cells after holds the last
+	 * letter, until the listener returns false
+	 */
+	void scan(byte[] cells, int from, int to, int delta, byte first, byte last, IntPredicate listener);
+
+	/**
+	 * Compares many cells at a time when the jdk.incubator.vector module is
+	 * available, one cell at a time otherwise or when the system property
+	 * word.search.vector is false
+	 */
+	static CandidateScanner create() {
+		if (Boolean.parseBoolean(System.getProperty("word.search.vector", "true"))
+				&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return new VectorCandidateScanner();
+			} catch (LinkageError e) {
+				// The vector API classes could not be loaded, scan one cell at a time
+			}
+		}
+		return new ScalarCandidateScanner();
+	}
+}
@@ -0,0 +1,27 @@
+package com.kata.word.search.vector;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Compares one cell at a time
+ */
+final class ScalarCandidateScanner implements CandidateScanner {
+
+	@Override
+	public void scan(byte[] cells, int from, int to, int delta, byte first, byte last, IntPredicate listener) {
+		scanCells(cells, from, to, delta, first, last, listener);
+	}
+
+	/**
+	 * Returns false if the listener stopped the scan
+	 */
+	static boolean scanCells(byte[] cells, int from, int to, int delta, byte first, byte last,
+			IntPredicate listener) {
+		for (int cell = from; cell < to; cell++) {
+			if (cells[cell] == first && cells[cell + delta] == last && !listener.test(cell)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
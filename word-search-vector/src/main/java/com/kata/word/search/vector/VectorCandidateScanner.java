@@ -0,0 +1,39 @@
+package com.kata.word.search.vector;
+
+import java.util.function.IntPredicate;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compares as many cells at a time as the preferred vector size of the CPU
+ * holds bytes, the cells left over are compared one at a time. Only loaded
+ * once the jdk.incubator.vector module is known to be available.
+ */
+final class VectorCandidateScanner implements CandidateScanner {
+
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+	@Override
+	public void scan(byte[] cells, int from, int to, int delta, byte first, byte last, IntPredicate listener) {
+		ByteVector firstLetters = ByteVector.broadcast(SPECIES, first);
+		ByteVector lastLetters = ByteVector.broadcast(SPECIES, last);
+		int cell = from;
+		int bound = from + SPECIES.loopBound(to - from);
+		for (; cell < bound; cell += SPECIES.length()) {
+			VectorMask<Byte> found = ByteVector.fromArray(SPECIES, cells, cell).compare(VectorOperators.EQ, firstLetters)
+					.and(ByteVector.fromArray(SPECIES, cells, cell + delta).compare(VectorOperators.EQ, lastLetters));
+			if (!found.anyTrue()) {
+				continue;
+			}
+			for (long lanes = found.toLong(); lanes != 0; lanes &= lanes - 1) {
+				if (!listener.test(cell + Long.numberOfTrailingZeros(lanes))) {
+					return;
+				}
+			}
+		}
+		ScalarCandidateScanner.scanCells(cells, cell, to, delta, first, last, listener);
+	}
+}
@@ -0,0 +1,130 @@
+package com.kata.word.search.vector;
+
+import com.kata.word.search.impl.Direction;
+import com.kata.word.search.impl.Grid;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.SearchEngine;
+
+/**
+ * Finds a word by comparing its first and last letters with many cells of the
+ * grid at a time, with the Vector API, then checking the letters in between at
+ * the cells both letters match. Without the jdk.incubator.vector module the
+ * cells are compared one at a time, see {@link CandidateScanner#create()}.
+ *
+ * The letters are packed row after row, each row followed by a 0, so a word
+ * read from the end of a row can't go on at the start of the next one. The
+ * grid takes one byte per cell.
+ */
+public class VectorScanEngine implements SearchEngine {
+
+	private static final Direction[] FORWARDS = { Direction.HORIZONTALLY_FORWARDS, Direction.VERTICALLY_FORWARDS,
+			Direction.DIAGONALLY_ASCENDING_FORWARDS, Direction.DIAGONALLY_DESCENDING_FORWARDS };
+
+	private final Grid grid;
+	private final int stride;
+	private final byte[] cells;
+	private final CandidateScanner scanner;
+
+	public VectorScanEngine(Grid grid) {
+		if ((long) grid.getHeight() * (grid.getWidth() + 1) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The grid is too large to be packed");
+		}
+
+		this.grid = grid;
+		stride = grid.getWidth() + 1;
+		cells = new byte[grid.getHeight() * stride];
+		for (int y = 0; y < grid.getHeight(); y++) {
+			for (int x = 0; x < grid.getWidth(); x++) {
+				cells[y * stride + x] = (byte) grid.getLetter(x, y);
+			}
+		}
+		scanner = CandidateScanner.create();
+	}
+
+	@Override
+	public Grid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * True if the cells are compared with the Vector API
+	 */
+	public boolean isVectorized() {
+		return scanner instanceof VectorCandidateScanner;
+	}
+
+	@Override
+	public long findMatch(String word) {
+		if (word.isEmpty() || word.length() > Math.max(grid.getWidth(), grid.getHeight())
+				|| !word.chars().allMatch(letter -> letter >= 'A' && letter <= 'Z')) {
+			return Match.NOT_FOUND;
+		}
+
+		String reversedWord = new StringBuilder(word).reverse().toString();
+		for (int group = 0; group < FORWARDS.length; group++) {
+			// A match in a direction comes before any match in the next directions
+			long match = findInDirection(word, false, group, Match.NOT_FOUND);
+			match = findInDirection(reversedWord, true, group, match);
+			if (match != Match.NOT_FOUND) {
+				return match;
+			}
+		}
+		return Match.NOT_FOUND;
+	}
+
+	/**
+	 * Checks the letters read forwards from each candidate cell, keeping the match
+	 * that comes first in search order
+	 *
+	 * @param letters the word, or the reversed word to find it backwards
+	 */
+	private long findInDirection(String letters, boolean backwards, int group, long match) {
+		Direction direction = FORWARDS[group];
+		int step = direction.getStepY() * stride + direction.getStepX();
+		int length = letters.length();
+		int delta = (length - 1) * step;
+		int from = Math.max(0, -delta);
+		int to = Math.min(cells.length, cells.length - delta);
+		if (group == 0 && match != Match.NOT_FOUND) {
+			// Cells are in the order rows are searched, only the rows before the match can hold a match before it
+			to = Math.min(to, Match.getY(match) * stride);
+		}
+
+		long[] best = { match,
+				match == Match.NOT_FOUND ? Long.MAX_VALUE : Match.getSearchOrder(match, grid.getHeight()) };
+		scanner.scan(cells, from, to, delta, (byte) letters.charAt(0), (byte) letters.charAt(length - 1), cell -> {
+			if (!matches(letters, cell, step)) {
+				return true;
+			}
+
+			int x = cell % stride;
+			int y = cell / stride;
+			// The word starts on its first letter, which is the last one of the reversed word
+			long candidate = backwards
+					? Match.of(x + (length - 1) * direction.getStepX(), y + (length - 1) * direction.getStepY(),
+							direction.reverse(), length)
+					: Match.of(x, y, direction, length);
+			long candidateSearchOrder = Match.getSearchOrder(candidate, grid.getHeight());
+			if (candidateSearchOrder < best[1]) {
+				best[0] = candidate;
+				best[1] = candidateSearchOrder;
+			}
+			// The first candidate found in the rows is the first in search order
+			return group != 0;
+		});
+		return best[0];
+	}
+
+	/**
+	 * Checks the letters between the first and the last one, a 0 ending a row
+	 * never matches
+	 */
+	private boolean matches(String letters, int cell, int step) {
+		for (int i = 1; i < letters.length() - 1; i++) {
+			if (cells[cell + i * step] != letters.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,82 @@
+package com.kata.word.search.vector.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.WordSearch;
+import com.kata.word.search.vector.VectorScanEngine;
+
+public class VectorScanEngineTest {
+
+	@Test
+	public void whenSearchForWordsWithVectorsAndReturnTheSameLocations() throws Exception {
+		WordSearch wordSearch = randomWordSearch(new Random(7), 45, 3);
+		VectorScanEngine engine = new VectorScanEngine(wordSearch.getGrid());
+		assertTrue(engine.isVectorized());
+		assertSameMatches(wordSearch, wordSearch.withEngine(engine), new Random(11), 3);
+	}
+
+	@Test
+	public void whenVectorsAreDisabledAndSearchForWordsOneCellAtATimeAndReturnTheSameLocations() throws Exception {
+		WordSearch wordSearch = randomWordSearch(new Random(13), 37, 2);
+		System.setProperty("word.search.vector", "false");
+		VectorScanEngine engine;
+		try {
+			engine = new VectorScanEngine(wordSearch.getGrid());
+		} finally {
+			System.clearProperty("word.search.vector");
+		}
+		assertFalse(engine.isVectorized());
+		assertSameMatches(wordSearch, wordSearch.withEngine(engine), new Random(17), 2);
+	}
+
+	@Test
+	public void whenSearchForAWordReadAcrossTheEndOfARowAndItIsNotFound() throws Exception {
+		WordSearch wordSearch = new WordSearch(
+				new ByteArrayInputStream("AB,FE\nA,B,C\nD,E,F\nG,H,I\n".getBytes(StandardCharsets.US_ASCII)));
+		WordSearch vectorWordSearch = wordSearch.withEngine(new VectorScanEngine(wordSearch.getGrid()));
+		assertEquals(wordSearch.print(), vectorWordSearch.print());
+		assertThrows(WordNotFoundException.class, () -> vectorWordSearch.findMatchForWord("CD"));
+		assertThrows(WordNotFoundException.class, () -> vectorWordSearch.findMatchForWord("FG"));
+		assertThrows(WordNotFoundException.class, () -> vectorWordSearch.findMatchForWord("ab"));
+	}
+
+	private static WordSearch randomWordSearch(Random random, int size, int letters) throws Exception {
+		StringBuilder input = new StringBuilder("AB\n");
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				input.append(x == 0 ? "" : ",").append((char) ('A' + random.nextInt(letters)));
+			}
+			input.append('\n');
+		}
+		return new WordSearch(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	private static void assertSameMatches(WordSearch expected, WordSearch actual, Random random, int letters) {
+		for (int i = 0; i < 500; i++) {
+			StringBuilder word = new StringBuilder();
+			for (int length = 1 + random.nextInt(9); word.length() < length;) {
+				word.append((char) ('A' + random.nextInt(letters)));
+			}
+			assertEquals(findMatch(expected, word.toString()), findMatch(actual, word.toString()), word.toString());
+		}
+	}
+
+	private static long findMatch(WordSearch wordSearch, String word) {
+		try {
+			return wordSearch.findMatchForWord(word);
+		} catch (WordNotFoundException e) {
+			return Match.NOT_FOUND;
+		}
+	}
+}
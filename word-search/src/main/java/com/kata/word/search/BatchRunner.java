@@ -0,0 +1,191 @@
+package com.kata.word.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Solves many input files in the same JVM on a fixed pool of workers. Each
+ * result is written as soon as its file is solved, either on the output stream
+ * after a header with the file path, or in a file of the output directory. The
+ * result files mirror the paths of the input files relative to the directory
+ * listed or the directory a glob pattern starts in, a listed file is written
+ * under its name.
+ */
+public class BatchRunner {
+
+	private final int threads;
+	private final Path outputDirectory; // null to write the results on the output stream
+	private final PrintStream out;
+	private final PrintStream report;
+
+	public BatchRunner(int threads, Path outputDirectory, PrintStream out, PrintStream report) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive");
+		}
+
+		this.threads = threads;
+		this.outputDirectory = outputDirectory;
+		this.out = out;
+		this.report = report;
+	}
+
+	/**
+	 * Solves all the files of a directory, all the files matching a glob pattern
+	 * or all the files listed in a file, one path per line. Returns the number of
+	 * files solved.
+	 */
+	public int run(String input) throws IOException, InterruptedException {
+		if (outputDirectory != null) {
+			Files.createDirectories(outputDirectory);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		// Limits the files waiting for a worker, the input may list millions of files
+		Semaphore pending = new Semaphore(threads * 4);
+		AtomicInteger errors = new AtomicInteger();
+		Path base = getBase(input);
+		Set<Path> outputs = new HashSet<>();
+		int files = 0;
+		long start = System.nanoTime();
+		try (Stream<Path> paths = listFiles(input)) {
+			for (Iterator<Path> iterator = paths.iterator(); iterator.hasNext();) {
+				Path path = iterator.next();
+				files++;
+				Path output = null;
+				if (outputDirectory != null) {
+					output = outputDirectory.resolve((base != null ? base.relativize(path) : path.getFileName()) + ".out")
+							.normalize();
+					if (!output.startsWith(outputDirectory.normalize()) || !outputs.add(output)) {
+						// Listed files with the same name, or outside of the directory a pattern starts in
+						report.println("ERROR: " + path + ": the result would overwrite " + output);
+						errors.incrementAndGet();
+						continue;
+					}
+				}
+
+				Path result = output;
+				pending.acquire();
+				executor.execute(() -> {
+					try {
+						if (!solve(path, result)) {
+							errors.incrementAndGet();
+						}
+					} finally {
+						pending.release();
+					}
+				});
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		report.println(String.format("Processed %d files (%d errors) in %.3f s, %.1f files/sec", files, errors.get(),
+				seconds, seconds > 0 ? files / seconds : 0));
+		return files;
+	}
+
+	/**
+	 * The directory a glob pattern starts in or the directory listed, null for a
+	 * list file
+	 */
+	private static Path getBase(String input) {
+		int patternStart = getPatternStart(input);
+		if (patternStart > -1) {
+			return Paths.get(input.substring(0, patternStart));
+		}
+
+		Path path = Paths.get(input);
+		return Files.isDirectory(path) ? path : null;
+	}
+
+	private Stream<Path> listFiles(String input) throws IOException {
+		int patternStart = getPatternStart(input);
+		if (patternStart > -1) {
+			// Walks the directory the pattern starts in, the pattern matching the paths
+			// relative to it. Written with '/', a Windows separator isn't read as an escape.
+			Path base = getBase(input);
+			PathMatcher matcher = FileSystems.getDefault()
+					.getPathMatcher("glob:" + input.substring(patternStart).replace(File.separatorChar, '/'));
+			return Files.walk(base).filter(Files::isRegularFile).filter(path -> matcher.matches(base.relativize(path)))
+					.sorted();
+		}
+
+		Path path = Paths.get(input);
+		if (Files.isDirectory(path)) {
+			return Files.list(path).filter(Files::isRegularFile).sorted();
+		}
+		return Files.lines(path).map(String::trim).filter(line -> !line.isEmpty()).map(Paths::get);
+	}
+
+	/**
+	 * Start of the first path segment with a glob character, -1 if the input has
+	 * none. The segments are separated by '/' or the separator of the platform.
+	 */
+	private static int getPatternStart(String input) {
+		for (int i = 0; i < input.length(); i++) {
+			if ("*?[{".indexOf(input.charAt(i)) > -1) {
+				return Math.max(input.lastIndexOf('/', i), input.lastIndexOf(File.separatorChar, i)) + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Solves a file and writes its result, returns false if it failed
+	 * 
+	 * @param output file the result is written in, null to write it on the output
+	 *               stream
+	 */
+	private boolean solve(Path path, Path output) {
+		String result;
+		boolean solved = false;
+		try {
+			result = new WordSearch(path).print();
+			solved = true;
+		} catch (IOException | InvalidWordException | InvalidGridException | WordNotFoundException e) {
+			result = "ERROR: " + e.getMessage();
+		} catch (RuntimeException e) {
+			result = "ERROR: " + e;
+			report.println("ERROR: " + path + ": " + e);
+		}
+
+		try {
+			if (output == null) {
+				out.println("==> " + path + " <==" + System.getProperty("line.separator") + result);
+			} else {
+				Files.createDirectories(output.getParent());
+				Files.write(output, result.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			report.println("ERROR: " + path + ": " + e.getMessage());
+			solved = false;
+		}
+		return solved;
+	}
+}
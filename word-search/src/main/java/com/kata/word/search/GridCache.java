@@ -0,0 +1,53 @@
+package com.kata.word.search;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.kata.word.search.impl.WordSearch;
+
+/**
+ * Least recently used loaded grids, keyed by the hash of their content. The
+ * cache is bounded by the total number of cells of the grids it holds.
+ */
+class GridCache {
+
+	private final long maxCells;
+	private final Map<String, WordSearch> grids = new LinkedHashMap<>(16, 0.75f, true);
+	private long cells;
+
+	GridCache(long maxCells) {
+		this.maxCells = maxCells;
+	}
+
+	synchronized WordSearch get(String hash) {
+		return grids.get(hash);
+	}
+
+	synchronized void put(String hash, WordSearch wordSearch) {
+		WordSearch previous = grids.put(hash, wordSearch);
+		if (previous != null) {
+			cells -= cellsOf(previous);
+		}
+		cells += cellsOf(wordSearch);
+
+		// Evicts the least recently used grids, always keeping the last one
+		Iterator<WordSearch> eldest = grids.values().iterator();
+		while (cells > maxCells && grids.size() > 1) {
+			cells -= cellsOf(eldest.next());
+			eldest.remove();
+		}
+	}
+
+	synchronized int size() {
+		return grids.size();
+	}
+
+	synchronized long getCells() {
+		return cells;
+	}
+
+	private static long cellsOf(WordSearch wordSearch) {
+		return (long) wordSearch.getGridSize() * wordSearch.getGridSize();
+	}
+}
@@ -7,18 +7,39 @@ import java.nio.file.Paths;
 import com.kata.word.search.exception.InvalidGridException;
 import com.kata.word.search.exception.InvalidWordException;
 import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.DictionaryTrie;
+import com.kata.word.search.impl.ResultWriter;
+import com.kata.word.search.impl.Word;
 import com.kata.word.search.impl.WordSearch;
 
 public class Main {
 
+	private static final String SERVER_USAGE = "Usage: --server <port> [--threads <count>] [--cache-cells <count>]";
+	private static final String BATCH_USAGE = "Usage: --batch <directory|glob|list file> [--threads <count>] [--output <directory>]";
+
 	public static void main(String[] args) {
 
-		if (args.length > 0) {
+		if (args.length > 0 && args[0].equals("--batch")) {
+
+			runBatch(args);
+
+		} else if (args.length > 0 && args[0].equals("--server")) {
+
+			runServer(args);
+
+		} else if (args.length > 2 && args[0].equals("--dictionary")) {
+
+			runDictionary(args);
+
+		} else if (args.length > 0) {
 
 			Path path = Paths.get(args[0]);
 			try {
 				WordSearch wordSearch = new WordSearch(path);
-				System.out.println(wordSearch.print());
+				ResultWriter writer = new ResultWriter(System.out);
+				wordSearch.print(writer);
+				writer.writeLineSeparator();
+				writer.flush();
 			} catch (IOException | InvalidWordException | InvalidGridException | WordNotFoundException e) {
 				System.out.println("ERROR: " + e.getMessage());
 			}
@@ -27,4 +48,115 @@ public class Main {
 			System.out.println("Please provide a path to a valid Word Search input file.");
 		}
 	}
+
+	/**
+	 * --dictionary &lt;dictionary file&gt; &lt;input file&gt;
+	 */
+	private static void runDictionary(String[] args) {
+		try {
+			DictionaryTrie dictionary = DictionaryTrie.load(Paths.get(args[1]));
+			WordSearch wordSearch = new WordSearch(Paths.get(args[2]));
+			ResultWriter writer = new ResultWriter(System.out);
+			for (Word word : wordSearch.findDictionaryWords(dictionary)) {
+				writer.write(word);
+			}
+			writer.writeLineSeparator();
+			writer.flush();
+		} catch (IOException | InvalidWordException | InvalidGridException e) {
+			System.out.println("ERROR: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * --server &lt;port&gt; [--threads &lt;count&gt;] [--cache-cells &lt;count&gt;]
+	 */
+	private static void runServer(String[] args) {
+		if (args.length < 2) {
+			System.out.println(invalidOption(args[0], SERVER_USAGE));
+			return;
+		}
+
+		int port;
+		int threads = Runtime.getRuntime().availableProcessors();
+		long maxCachedCells = 1L << 28;
+		try {
+			port = Integer.parseInt(args[1]);
+		} catch (NumberFormatException e) {
+			System.out.println(invalidOption(args[0] + " " + args[1], SERVER_USAGE));
+			return;
+		}
+		for (int i = 2; i < args.length; i += 2) {
+			try {
+				if (i + 1 < args.length && args[i].equals("--threads")) {
+					threads = Integer.parseInt(args[i + 1]);
+				} else if (i + 1 < args.length && args[i].equals("--cache-cells")) {
+					maxCachedCells = Long.parseLong(args[i + 1]);
+				} else {
+					System.out.println(invalidOption(args[i], SERVER_USAGE));
+					return;
+				}
+			} catch (NumberFormatException e) {
+				System.out.println(invalidOption(args[i] + " " + args[i + 1], SERVER_USAGE));
+				return;
+			}
+		}
+
+		try {
+			SolverServer server = new SolverServer(port, threads, maxCachedCells);
+			server.start();
+			System.out.println("Listening on http://localhost:" + server.getPort());
+		} catch (IOException e) {
+			System.out.println("ERROR: " + e.getMessage());
+		} catch (IllegalArgumentException e) {
+			// A port out of range or a number of threads that isn't positive
+			System.out.println("ERROR: " + e.getMessage() + System.getProperty("line.separator") + SERVER_USAGE);
+		}
+	}
+
+	/**
+	 * --batch &lt;directory|glob|list file&gt; [--threads &lt;count&gt;] [--output &lt;directory&gt;]
+	 */
+	private static void runBatch(String[] args) {
+		if (args.length < 2) {
+			System.out.println(invalidOption(args[0], BATCH_USAGE));
+			return;
+		}
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		Path outputDirectory = null;
+		for (int i = 2; i < args.length; i += 2) {
+			try {
+				if (i + 1 < args.length && args[i].equals("--threads")) {
+					threads = Integer.parseInt(args[i + 1]);
+				} else if (i + 1 < args.length && args[i].equals("--output")) {
+					outputDirectory = Paths.get(args[i + 1]);
+				} else {
+					System.out.println(invalidOption(args[i], BATCH_USAGE));
+					return;
+				}
+			} catch (NumberFormatException e) {
+				System.out.println(invalidOption(args[i] + " " + args[i + 1], BATCH_USAGE));
+				return;
+			}
+		}
+
+		try {
+			new BatchRunner(threads, outputDirectory, System.out, System.err).run(args[1]);
+		} catch (IOException e) {
+			System.out.println("ERROR: " + e.getMessage());
+		} catch (IllegalArgumentException e) {
+			// A number of threads that isn't positive
+			System.out.println("ERROR: " + e.getMessage() + System.getProperty("line.separator") + BATCH_USAGE);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Message of an unknown option, of an option without its value or with a value
+	 * that isn't a number
+	 */
+	private static String invalidOption(String option, String usage) {
+		return "ERROR: Invalid option " + option + System.getProperty("line.separator") + usage;
+	}
 }
@@ -0,0 +1,215 @@
+package com.kata.word.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.WordSearch;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP service solving word searches, the loaded grids being kept in a
+ * cache so a grid already seen is never parsed again.
+ * <ul>
+ * <li>POST /solve with an input file as body solves it, the id of its grid is
+ * returned in the X-Grid-Id header</li>
+ * <li>POST /solve?grid=&lt;id&gt; with a comma separated list of words as body
+ * searches them in a grid already loaded</li>
+ * <li>GET /stats returns the request, cache and latency counters</li>
+ * </ul>
+ * The response body is the same as the output of {@link Main}.
+ */
+public class SolverServer {
+
+	private static final String GRID_ID_HEADER = "X-Grid-Id";
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final GridCache cache;
+	private final long startTime;
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder latency = new LongAdder(); // total, in nanoseconds
+
+	public SolverServer(int port, int threads, long maxCachedCells) throws IOException {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive");
+		}
+
+		cache = new GridCache(maxCachedCells);
+		executor = Executors.newFixedThreadPool(threads);
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.setExecutor(executor);
+		server.createContext("/solve", this::solve);
+		server.createContext("/stats", this::stats);
+		startTime = System.nanoTime();
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void solve(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+		int status = 200;
+		String response;
+		try {
+			if (!exchange.getRequestMethod().equals("POST")) {
+				status = 405;
+				response = "ERROR: Use POST to solve a word search";
+			} else {
+				byte[] body = readBody(exchange.getRequestBody());
+				String gridId = getQueryParameter(exchange.getRequestURI(), "grid");
+				WordSearch wordSearch = gridId == null ? load(body, exchange) : cache.get(gridId);
+				if (wordSearch == null) {
+					status = 404;
+					response = String.format("ERROR: Grid [%s] is not loaded", gridId);
+				} else {
+					if (gridId != null) {
+						cacheHits.increment();
+						wordSearch = wordSearch.withWords(new String(body, StandardCharsets.ISO_8859_1).trim());
+					}
+					response = wordSearch.print();
+				}
+			}
+		} catch (InvalidWordException | InvalidGridException e) {
+			status = 400;
+			response = "ERROR: " + e.getMessage();
+		} catch (WordNotFoundException e) {
+			status = 422;
+			response = "ERROR: " + e.getMessage();
+		} catch (IOException | RuntimeException e) {
+			status = 500;
+			response = "ERROR: " + e;
+		}
+
+		// Counted before answering, a client reading /stats after its response sees it
+		requests.increment();
+		if (status != 200) {
+			errors.increment();
+		}
+		latency.add(System.nanoTime() - start);
+		send(exchange, status, response);
+	}
+
+	/**
+	 * Returns the word search of the input file, parsing it only if its grid isn't
+	 * in the cache
+	 */
+	private WordSearch load(byte[] body, HttpExchange exchange)
+			throws IOException, InvalidWordException, InvalidGridException {
+		int firstLineEnd = 0;
+		while (firstLineEnd < body.length && body[firstLineEnd] != '\n' && body[firstLineEnd] != '\r') {
+			firstLineEnd++;
+		}
+		// Exactly one line end, a blank line before the grid makes the input invalid
+		int gridStart = firstLineEnd;
+		if (gridStart < body.length && body[gridStart] == '\r') {
+			gridStart++;
+		}
+		if (gridStart < body.length && body[gridStart] == '\n') {
+			gridStart++;
+		}
+
+		String gridId = hash(body, gridStart);
+		exchange.getResponseHeaders().add(GRID_ID_HEADER, gridId);
+		WordSearch wordSearch = cache.get(gridId);
+		if (wordSearch != null) {
+			cacheHits.increment();
+			return wordSearch.withWords(new String(body, 0, firstLineEnd, StandardCharsets.ISO_8859_1));
+		}
+
+		cacheMisses.increment();
+		wordSearch = new WordSearch(new ByteArrayInputStream(body));
+		cache.put(gridId, wordSearch);
+		return wordSearch;
+	}
+
+	private void stats(HttpExchange exchange) throws IOException {
+		long count = requests.sum();
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		String newLine = System.getProperty("line.separator");
+		StringBuilder response = new StringBuilder();
+		response.append("requests=").append(count).append(newLine);
+		response.append("errors=").append(errors.sum()).append(newLine);
+		response.append("cacheHits=").append(cacheHits.sum()).append(newLine);
+		response.append("cacheMisses=").append(cacheMisses.sum()).append(newLine);
+		response.append("cachedGrids=").append(cache.size()).append(newLine);
+		response.append("cachedCells=").append(cache.getCells()).append(newLine);
+		response.append(String.format("averageLatencyMs=%.3f", count > 0 ? latency.sum() / 1e6 / count : 0))
+				.append(newLine);
+		response.append(String.format("requestsPerSecond=%.1f", count / seconds));
+		send(exchange, 200, response.toString());
+	}
+
+	private static void send(HttpExchange exchange, int status, String response) throws IOException {
+		byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream body = exchange.getResponseBody()) {
+			body.write(bytes);
+		}
+	}
+
+	private static byte[] readBody(InputStream input) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int read = input.read(buffer); read > -1; read = input.read(buffer)) {
+			body.write(buffer, 0, read);
+		}
+		return body.toByteArray();
+	}
+
+	private static String getQueryParameter(URI uri, String name) {
+		String query = uri.getRawQuery();
+		if (query != null) {
+			for (String parameter : query.split("&")) {
+				if (parameter.startsWith(name + "=")) {
+					return parameter.substring(name.length() + 1);
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String hash(byte[] body, int from) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(body, from, body.length - from);
+			StringBuilder hash = new StringBuilder();
+			for (byte value : digest.digest()) {
+				hash.append(String.format("%02x", value));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
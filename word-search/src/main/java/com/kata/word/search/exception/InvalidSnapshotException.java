@@ -0,0 +1,14 @@
+package com.kata.word.search.exception;
+
+public class InvalidSnapshotException extends Exception {
+	private static final long serialVersionUID = -6187340917259362213L;
+
+	public InvalidSnapshotException() {
+		super();
+	}
+
+	public InvalidSnapshotException(String message) {
+		super(message);
+	}
+
+}
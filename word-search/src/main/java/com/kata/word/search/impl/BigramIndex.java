@@ -0,0 +1,222 @@
+package com.kata.word.search.impl;
+
+/**
+ * Index of the cells each pair of adjacent letters starts in, for the four
+ * forwards directions. A word is only checked at the cells of its rarest pair,
+ * forwards and backwards, instead of scanning every line of the grid.
+ *
+ * The cells of each direction are kept in a single array sorted by pair, like a
+ * compressed sparse row matrix, so the index takes 4 ints per cell.
+ */
+public class BigramIndex implements SearchEngine {
+
+	static final int DIRECTIONS = 4;
+
+	private static final int LETTERS = 26;
+	private static final int BIGRAMS = LETTERS * LETTERS;
+	private static final Direction[] FORWARDS = { Direction.HORIZONTALLY_FORWARDS, Direction.VERTICALLY_FORWARDS,
+			Direction.DIAGONALLY_ASCENDING_FORWARDS, Direction.DIAGONALLY_DESCENDING_FORWARDS };
+
+	private final Grid grid;
+	private final byte[] cells;
+	private final int[][] bigramStarts; // per direction, index in cells of the first cell of each pair
+	private final int[][] bigramCells; // per direction, cell offsets sorted by pair then by offset
+
+	public BigramIndex(Grid grid) {
+		this.grid = grid;
+		cells = grid.getCells();
+		bigramStarts = new int[DIRECTIONS][];
+		bigramCells = new int[DIRECTIONS][];
+		for (int group = 0; group < DIRECTIONS; group++) {
+			indexDirection(group);
+		}
+	}
+
+	/**
+	 * Index read from a {@link Snapshot}
+	 */
+	BigramIndex(Grid grid, int[][] bigramStarts, int[][] bigramCells) {
+		this.grid = grid;
+		cells = grid.getCells();
+		this.bigramStarts = bigramStarts;
+		this.bigramCells = bigramCells;
+	}
+
+	private void indexDirection(int group) {
+		int[] starts = new int[BIGRAMS + 1];
+		int[] bigrams = new int[cells.length];
+		int count = 0;
+		for (int offset = 0; offset < cells.length; offset++) {
+			bigrams[offset] = bigramAt(offset, FORWARDS[group]);
+			if (bigrams[offset] > -1) {
+				starts[bigrams[offset] + 1]++;
+				count++;
+			}
+		}
+		for (int bigram = 0; bigram < BIGRAMS; bigram++) {
+			starts[bigram + 1] += starts[bigram];
+		}
+
+		int[] offsets = new int[count];
+		int[] next = new int[BIGRAMS];
+		System.arraycopy(starts, 0, next, 0, BIGRAMS);
+		for (int offset = 0; offset < cells.length; offset++) {
+			if (bigrams[offset] > -1) {
+				offsets[next[bigrams[offset]]++] = offset;
+			}
+		}
+		bigramStarts[group] = starts;
+		bigramCells[group] = offsets;
+	}
+
+	/**
+	 * Pair of letters starting at the cell in the direction, -1 if the next cell is
+	 * out of the grid
+	 */
+	private int bigramAt(int offset, Direction direction) {
+		int x = grid.getX(offset) + direction.getStepX();
+		int y = grid.getY(offset) + direction.getStepY();
+		if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) {
+			return -1;
+		}
+		return bigram(cells[offset], cells[y * grid.getWidth() + x]);
+	}
+
+	private static int bigram(int first, int second) {
+		if (first < 'A' || first > 'Z' || second < 'A' || second > 'Z') {
+			return -1;
+		}
+		return (first - 'A') * LETTERS + second - 'A';
+	}
+
+	@Override
+	public Grid getGrid() {
+		return grid;
+	}
+
+	int[][] getBigramStarts() {
+		return bigramStarts;
+	}
+
+	int[][] getBigramCells() {
+		return bigramCells;
+	}
+
+	/**
+	 * Number of cells the pair of letters starts in, in any of the eight
+	 * directions
+	 */
+	public int getCount(char first, char second) {
+		int bigram = bigram(first, second);
+		int reversed = bigram(second, first);
+		if (bigram == -1) {
+			return 0;
+		}
+
+		int count = 0;
+		for (int group = 0; group < DIRECTIONS; group++) {
+			count += countOf(group, bigram) + countOf(group, reversed);
+		}
+		return count;
+	}
+
+	private int countOf(int group, int bigram) {
+		return bigramStarts[group][bigram + 1] - bigramStarts[group][bigram];
+	}
+
+	@Override
+	public long findMatch(String word) {
+		if (word.isEmpty()) {
+			return Match.NOT_FOUND;
+		}
+		if (word.length() == 1) {
+			return findLetter(word.charAt(0));
+		}
+
+		String reversedWord = new StringBuilder(word).reverse().toString();
+		for (int group = 0; group < DIRECTIONS; group++) {
+			// A match in a direction comes before any match in the next directions
+			long match = findInDirection(word, false, group, Match.NOT_FOUND);
+			match = findInDirection(reversedWord, true, group, match);
+			if (match != Match.NOT_FOUND) {
+				return match;
+			}
+		}
+		return Match.NOT_FOUND;
+	}
+
+	/**
+	 * A single letter is first found in the rows
+	 */
+	private long findLetter(char letter) {
+		for (int offset = 0; offset < cells.length; offset++) {
+			if (cells[offset] == letter) {
+				return Match.of(grid.getX(offset), grid.getY(offset), Direction.HORIZONTALLY_FORWARDS, 1);
+			}
+		}
+		return Match.NOT_FOUND;
+	}
+
+	/**
+	 * Checks the letters read forwards at each cell of the rarest pair of letters,
+	 * keeping the match that comes first in search order
+	 *
+	 * @param letters the word, or the reversed word to find it backwards
+	 */
+	private long findInDirection(String letters, boolean backwards, int group, long match) {
+		int rarest = -1;
+		int rarestIndex = 0;
+		for (int i = 0; i + 1 < letters.length(); i++) {
+			int bigram = bigram(letters.charAt(i), letters.charAt(i + 1));
+			if (bigram == -1) {
+				return match;
+			}
+			if (rarest == -1 || countOf(group, bigram) < countOf(group, rarest)) {
+				rarest = bigram;
+				rarestIndex = i;
+			}
+		}
+
+		Direction direction = FORWARDS[group];
+		int length = letters.length();
+		long searchOrder = match == Match.NOT_FOUND ? Long.MAX_VALUE : Match.getSearchOrder(match, grid.getHeight());
+		int[] offsets = bigramCells[group];
+		for (int i = bigramStarts[group][rarest]; i < bigramStarts[group][rarest + 1]; i++) {
+			int x = grid.getX(offsets[i]) - rarestIndex * direction.getStepX();
+			int y = grid.getY(offsets[i]) - rarestIndex * direction.getStepY();
+			if (!matches(letters, x, y, direction)) {
+				continue;
+			}
+
+			// The word starts on its first letter, which is the last one of the reversed word
+			long candidate = backwards
+					? Match.of(x + (length - 1) * direction.getStepX(), y + (length - 1) * direction.getStepY(),
+							direction.reverse(), length)
+					: Match.of(x, y, direction, length);
+			long candidateSearchOrder = Match.getSearchOrder(candidate, grid.getHeight());
+			if (candidateSearchOrder < searchOrder) {
+				searchOrder = candidateSearchOrder;
+				match = candidate;
+			}
+		}
+		return match;
+	}
+
+	private boolean matches(String letters, int x, int y, Direction direction) {
+		int lastX = x + (letters.length() - 1) * direction.getStepX();
+		int lastY = y + (letters.length() - 1) * direction.getStepY();
+		if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight() || lastX < 0 || lastY < 0
+				|| lastX >= grid.getWidth() || lastY >= grid.getHeight()) {
+			return false;
+		}
+
+		int offset = y * grid.getWidth() + x;
+		int step = direction.getStepY() * grid.getWidth() + direction.getStepX();
+		for (int i = 0; i < letters.length(); i++, offset += step) {
+			if (cells[offset] != letters.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
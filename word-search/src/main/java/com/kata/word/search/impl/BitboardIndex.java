@@ -0,0 +1,131 @@
+package com.kata.word.search.impl;
+
+/**
+ * One bitset per letter over the cells of the grid. A word is matched in a
+ * direction by ANDing the bitsets of its letters, each shifted by the step of
+ * the direction times the index of the letter, which checks every cell for the
+ * word 64 cells at a time.
+ *
+ * Cell (x, y) is the bit y * (width + 1) + x: the extra column of each row is
+ * never set, so a word can't wrap from the end of a row onto the next one. The
+ * index takes 26 bits per cell.
+ */
+public class BitboardIndex implements SearchEngine {
+
+	private static final int LETTERS = 26;
+	private static final Direction[] FORWARDS = { Direction.HORIZONTALLY_FORWARDS, Direction.VERTICALLY_FORWARDS,
+			Direction.DIAGONALLY_ASCENDING_FORWARDS, Direction.DIAGONALLY_DESCENDING_FORWARDS };
+
+	private final Grid grid;
+	private final int stride;
+	private final long[][] letterBits; // per letter, the bits of the cells holding it
+
+	public BitboardIndex(Grid grid) {
+		if ((long) grid.getHeight() * (grid.getWidth() + 1) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The grid is too large to be indexed");
+		}
+
+		this.grid = grid;
+		stride = grid.getWidth() + 1;
+		int blocks = (grid.getHeight() * stride + 63) >>> 6;
+		letterBits = new long[LETTERS][blocks];
+		byte[] cells = grid.getCells();
+		for (int y = 0; y < grid.getHeight(); y++) {
+			for (int x = 0; x < grid.getWidth(); x++) {
+				int letter = cells[y * grid.getWidth() + x] - 'A';
+				if (letter >= 0 && letter < LETTERS) {
+					int bit = y * stride + x;
+					letterBits[letter][bit >>> 6] |= 1L << bit;
+				}
+			}
+		}
+	}
+
+	@Override
+	public Grid getGrid() {
+		return grid;
+	}
+
+	@Override
+	public long findMatch(String word) {
+		if (word.isEmpty() || word.length() > Math.max(grid.getWidth(), grid.getHeight())) {
+			return Match.NOT_FOUND;
+		}
+		long[][] bits = new long[word.length()][];
+		long[][] reversedBits = new long[word.length()][];
+		for (int i = 0; i < word.length(); i++) {
+			int letter = word.charAt(i) - 'A';
+			if (letter < 0 || letter >= LETTERS) {
+				return Match.NOT_FOUND;
+			}
+			bits[i] = letterBits[letter];
+			reversedBits[word.length() - 1 - i] = letterBits[letter];
+		}
+
+		for (int group = 0; group < FORWARDS.length; group++) {
+			// A match in a direction comes before any match in the next directions
+			long match = findInDirection(bits, false, group, Match.NOT_FOUND);
+			match = findInDirection(reversedBits, true, group, match);
+			if (match != Match.NOT_FOUND) {
+				return match;
+			}
+		}
+		return Match.NOT_FOUND;
+	}
+
+	/**
+	 * Checks 64 cells at a time for the letters read forwards from each cell,
+	 * keeping the match that comes first in search order
+	 *
+	 * @param bits the bitsets of the letters of the word, or of the reversed word
+	 *             to find it backwards
+	 */
+	private long findInDirection(long[][] bits, boolean backwards, int group, long match) {
+		Direction direction = FORWARDS[group];
+		int step = direction.getStepY() * stride + direction.getStepX();
+		int length = bits.length;
+		long searchOrder = match == Match.NOT_FOUND ? Long.MAX_VALUE : Match.getSearchOrder(match, grid.getHeight());
+		for (int block = 0; block < bits[0].length; block++) {
+			long found = bits[0][block];
+			for (int i = 1; i < length && found != 0; i++) {
+				found &= bitsFrom(bits[i], (block << 6) + i * step);
+			}
+
+			for (; found != 0; found &= found - 1) {
+				int bit = (block << 6) + Long.numberOfTrailingZeros(found);
+				int x = bit % stride;
+				int y = bit / stride;
+				// The word starts on its first letter, which is the last one of the reversed word
+				long candidate = backwards
+						? Match.of(x + (length - 1) * direction.getStepX(), y + (length - 1) * direction.getStepY(),
+								direction.reverse(), length)
+						: Match.of(x, y, direction, length);
+				long candidateSearchOrder = Match.getSearchOrder(candidate, grid.getHeight());
+				if (candidateSearchOrder < searchOrder) {
+					searchOrder = candidateSearchOrder;
+					match = candidate;
+				}
+			}
+			if (group == 0 && match != Match.NOT_FOUND && ((block + 1) << 6) / stride >= Match.getY(match)) {
+				// Bits are in the order rows are searched, the next blocks only hold later matches
+				break;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * 64 bits of the bitset starting at the given bit, bits out of the grid are
+	 * not set
+	 */
+	private static long bitsFrom(long[] bits, int from) {
+		int block = from >> 6;
+		int shift = from & 63;
+		long low = block >= 0 && block < bits.length ? bits[block] : 0;
+		if (shift == 0) {
+			return low;
+		}
+		long high = block + 1 >= 0 && block + 1 < bits.length ? bits[block + 1] : 0;
+		return (low >>> shift) | (high << (64 - shift));
+	}
+}
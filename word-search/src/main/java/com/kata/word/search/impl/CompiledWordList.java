@@ -0,0 +1,50 @@
+package com.kata.word.search.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.kata.word.search.exception.InvalidWordException;
+
+/**
+ * Words validated once, with the automaton matching them forwards and
+ * backwards, to solve many grids with the same words without parsing the words
+ * or building the automaton again for each grid.
+ *
+ * Immutable, a single instance can be shared by concurrent threads.
+ */
+public final class CompiledWordList {
+
+	private final List<String> words;
+	private final int[] lengths;
+	private final WordMatcher matcher;
+
+	/**
+	 * @param words valid words, see {@link #compile(String)}
+	 */
+	CompiledWordList(List<String> words) {
+		this.words = Collections.unmodifiableList(new ArrayList<>(words));
+		lengths = words.stream().mapToInt(String::length).toArray();
+		matcher = new WordMatcher(this.words);
+	}
+
+	/**
+	 * @param firstLine words separated by comma, in the format of the first line
+	 *                  of the input file
+	 */
+	public static CompiledWordList compile(String firstLine) throws InvalidWordException {
+		return new CompiledWordList(GridParser.parseWords(firstLine));
+	}
+
+	public List<String> getWords() {
+		return words;
+	}
+
+	int[] getLengths() {
+		return lengths;
+	}
+
+	WordMatcher getMatcher() {
+		return matcher;
+	}
+}
@@ -1,9 +1,10 @@
 package com.kata.word.search.impl;
 
-import java.util.Set;
-
+/**
+ * Packs the location of a word found in a line of letters, see {@link Match}
+ */
 @FunctionalInterface
 public interface CoordinatesGenerator {
 
-	public Set<Coordinates> generate(int axis, int index, int lenght);
+	public long generate(int axis, int index, int lenght);
 }
@@ -0,0 +1,198 @@
+package com.kata.word.search.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import com.kata.word.search.exception.InvalidWordException;
+
+/**
+ * Trie of a dictionary, to find which of its words are in a grid by walking the
+ * grid from every cell in the eight directions, a walk stopping as soon as the
+ * letters read are not the prefix of a word.
+ *
+ * Nodes are numbered breadth first so the children of a node are consecutive,
+ * the trie is kept in three arrays: the first child, the letter and the word of
+ * each node.
+ */
+public class DictionaryTrie {
+
+	static final String INVALID_DICTIONARY_MESSAGE = "The dictionary should contain one word per line, only letters.";
+
+	private static final int ROOT = 0;
+
+	private final List<String> words; // sorted, without duplicates
+	private final int[] firstChild; // one more entry than nodes, the children of node n are firstChild[n] to firstChild[n + 1]
+	private final byte[] letters;
+	private final int[] wordIndex; // word ending at each node, -1 if none
+
+	/**
+	 * @param words upper case words, duplicates are ignored
+	 */
+	public DictionaryTrie(Iterable<String> words) {
+		TreeSet<String> sorted = new TreeSet<>();
+		int maxNodes = 1;
+		for (String word : words) {
+			if (!word.chars().allMatch(letter -> letter >= 'A' && letter <= 'Z')) {
+				throw new IllegalArgumentException("Words should contain only upper case letters");
+			}
+			if (sorted.add(word)) {
+				maxNodes += word.length();
+			}
+		}
+		this.words = Collections.unmodifiableList(new ArrayList<>(sorted));
+
+		// Each node is the range of words starting with its prefix
+		int[] from = new int[maxNodes];
+		int[] to = new int[maxNodes];
+		int[] depth = new int[maxNodes];
+		int[] children = new int[maxNodes + 1];
+		byte[] nodeLetters = new byte[maxNodes];
+		int[] nodeWords = new int[maxNodes];
+		to[ROOT] = this.words.size();
+		int nodes = 1;
+		for (int node = 0; node < nodes; node++) {
+			int first = from[node];
+			nodeWords[node] = -1;
+			if (first < to[node] && this.words.get(first).length() == depth[node]) {
+				// Sorted words: the prefix itself comes first
+				nodeWords[node] = first++;
+			}
+			children[node] = nodes;
+			while (first < to[node]) {
+				char letter = this.words.get(first).charAt(depth[node]);
+				int last = first;
+				while (last < to[node] && this.words.get(last).charAt(depth[node]) == letter) {
+					last++;
+				}
+				nodeLetters[nodes] = (byte) letter;
+				from[nodes] = first;
+				to[nodes] = last;
+				depth[nodes] = depth[node] + 1;
+				nodes++;
+				first = last;
+			}
+		}
+		children[nodes] = nodes;
+
+		firstChild = Arrays.copyOf(children, nodes + 1);
+		letters = Arrays.copyOf(nodeLetters, nodes);
+		wordIndex = Arrays.copyOf(nodeWords, nodes);
+	}
+
+	/**
+	 * Reads a dictionary file, one word per line. Letters are turned to upper case,
+	 * blank lines and words shorter than 2 letters are ignored.
+	 */
+	public static DictionaryTrie load(Path path) throws IOException, InvalidWordException {
+		List<String> words = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				String word = line.trim();
+				for (int i = 0; i < word.length(); i++) {
+					char letter = word.charAt(i);
+					if ((letter < 'A' || letter > 'Z') && (letter < 'a' || letter > 'z')) {
+						throw new InvalidWordException(INVALID_DICTIONARY_MESSAGE);
+					}
+				}
+				if (word.length() > 1) {
+					words.add(word.toUpperCase());
+				}
+			}
+		}
+		return new DictionaryTrie(words);
+	}
+
+	/**
+	 * Words of the dictionary, sorted
+	 */
+	public List<String> getWords() {
+		return words;
+	}
+
+	public int getNodesCount() {
+		return letters.length;
+	}
+
+	/**
+	 * Child of the node for the letter, -1 if none
+	 */
+	private int child(int node, byte letter) {
+		for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+			if (letters[child] == letter) {
+				return child;
+			}
+			if (letters[child] > letter) {
+				// Children are sorted by letter
+				break;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Walks the grid from every cell in the eight directions, the rows being walked
+	 * in parallel. Each word keeps the match that comes first in search order, as
+	 * {@link WordSearch#findMatchForWord(String)} would find it.
+	 *
+	 * @return the packed location of each word, {@link Match#NOT_FOUND} if not in
+	 *         the grid
+	 */
+	long[] findFirstMatches(Grid grid, ForkJoinPool pool) {
+		AtomicLongArray searchOrders = new AtomicLongArray(words.size());
+		for (int i = 0; i < words.size(); i++) {
+			searchOrders.set(i, Long.MAX_VALUE);
+		}
+
+		pool.submit(() -> IntStream.range(0, grid.getHeight()).parallel().forEach(y -> {
+			for (int x = 0; x < grid.getWidth(); x++) {
+				for (Direction direction : Direction.values()) {
+					walk(grid, x, y, direction, searchOrders);
+				}
+			}
+		})).join();
+
+		long[] matches = new long[words.size()];
+		for (int i = 0; i < words.size(); i++) {
+			long searchOrder = searchOrders.get(i);
+			matches[i] = searchOrder == Long.MAX_VALUE ? Match.NOT_FOUND
+					: grid.locateSearchOrder(searchOrder, words.get(i).length());
+		}
+		return matches;
+	}
+
+	private void walk(Grid grid, int startX, int startY, Direction direction, AtomicLongArray searchOrders) {
+		byte[] cells = grid.getCells();
+		int node = ROOT;
+		int length = 0;
+		int x = startX;
+		int y = startY;
+		while (x >= 0 && y >= 0 && x < grid.getWidth() && y < grid.getHeight()) {
+			node = child(node, cells[y * grid.getWidth() + x]);
+			if (node == -1) {
+				return;
+			}
+			length++;
+
+			int word = wordIndex[node];
+			if (word > -1) {
+				long searchOrder = Match.getSearchOrder(Match.of(startX, startY, direction, length), grid.getHeight());
+				if (searchOrder < searchOrders.get(word)) {
+					searchOrders.accumulateAndGet(word, searchOrder, Math::min);
+				}
+			}
+			x += direction.getStepX();
+			y += direction.getStepY();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.kata.word.search.impl;
+
+/**
+ * The eight straight lines a word can be read in, in the order the grid is
+ * searched. Each forwards direction is followed by its backwards direction.
+ */
+public enum Direction {
+
+	HORIZONTALLY_FORWARDS(1, 0),
+	HORIZONTALLY_BACKWARDS(-1, 0),
+	VERTICALLY_FORWARDS(0, 1),
+	VERTICALLY_BACKWARDS(0, -1),
+	DIAGONALLY_ASCENDING_FORWARDS(1, 1),
+	DIAGONALLY_ASCENDING_BACKWARDS(-1, -1),
+	DIAGONALLY_DESCENDING_FORWARDS(1, -1),
+	DIAGONALLY_DESCENDING_BACKWARDS(-1, 1);
+
+	private static final Direction[] VALUES = values();
+
+	private final int stepX;
+	private final int stepY;
+
+	private Direction(int stepX, int stepY) {
+		this.stepX = stepX;
+		this.stepY = stepY;
+	}
+
+	public int getStepX() {
+		return stepX;
+	}
+
+	public int getStepY() {
+		return stepY;
+	}
+
+	public boolean isBackwards() {
+		return ordinal() % 2 == 1;
+	}
+
+	public Direction reverse() {
+		return VALUES[ordinal() ^ 1];
+	}
+
+	static Direction valueOf(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
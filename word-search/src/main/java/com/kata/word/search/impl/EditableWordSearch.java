@@ -0,0 +1,173 @@
+package com.kata.word.search.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copy of a word search whose grid is edited one cell at a time, the location
+ * of each word being kept up to date after every edit.
+ *
+ * The words found in each line are kept, with the lines each word is found in.
+ * An edit only scans again the four lines going through the cell, and only the
+ * words found in these lines before or after the edit are located again, so an
+ * edit costs the length of the lines touched rather than the size of the grid.
+ *
+ * Not thread safe, edits must not run concurrently with other calls.
+ */
+public class EditableWordSearch {
+
+	private static final int[] NO_WORDS = new int[0];
+
+	private final List<String> words;
+	private final Grid grid;
+	private final WordMatcher matcher;
+	private final int[][] lineWords; // indexes of the words found in each line, sorted
+	private final BitSet[] wordLines; // lines each word is found in
+	private final int[] firstLines; // first line each word is found in, in search order, -1 if none
+	private final long[] matches;
+
+	EditableWordSearch(List<String> words, Grid source) {
+		this.words = words;
+		grid = new Grid(source.getCells().clone(), source.getWidth(), source.getHeight());
+		matcher = new WordMatcher(words);
+		lineWords = new int[grid.getLinesCount()][];
+		wordLines = new BitSet[words.size()];
+		firstLines = new int[words.size()];
+		matches = new long[words.size()];
+		Arrays.fill(firstLines, -1);
+		Arrays.fill(matches, Match.NOT_FOUND);
+		for (int i = 0; i < words.size(); i++) {
+			wordLines[i] = new BitSet();
+		}
+
+		for (int lineNumber = 0; lineNumber < lineWords.length; lineNumber++) {
+			lineWords[lineNumber] = scanLine(lineNumber);
+			for (int word : lineWords[lineNumber]) {
+				wordLines[word].set(lineNumber);
+				if (firstLines[word] == -1) {
+					firstLines[word] = lineNumber;
+					matches[word] = locateInLine(word, lineNumber);
+				}
+			}
+		}
+	}
+
+	public char getLetter(int x, int y) {
+		return grid.getLetter(x, y);
+	}
+
+	/**
+	 * Changes the letter of a cell and locates again the words whose location, or
+	 * a new location, goes through it
+	 *
+	 * @return the words whose location changed, with their new location,
+	 *         {@link Match#NOT_FOUND} if they are no longer in the grid
+	 */
+	public List<Word> setCell(int x, int y, char letter) {
+		if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) {
+			throw new IllegalArgumentException("The cell (" + x + "," + y + ") is out of the grid");
+		}
+		if (letter < 'A' || letter > 'Z') {
+			throw new IllegalArgumentException("Letters should be upper case letters");
+		}
+		byte[] cells = grid.getCells();
+		int offset = y * grid.getWidth() + x;
+		if (cells[offset] == letter) {
+			return Collections.emptyList();
+		}
+		cells[offset] = (byte) letter;
+
+		int[] lines = grid.getLinesThrough(x, y);
+		BitSet affected = new BitSet(words.size());
+		for (int lineNumber : lines) {
+			for (int word : lineWords[lineNumber]) {
+				wordLines[word].clear(lineNumber);
+				affected.set(word);
+			}
+			lineWords[lineNumber] = scanLine(lineNumber);
+			for (int word : lineWords[lineNumber]) {
+				wordLines[word].set(lineNumber);
+				affected.set(word);
+			}
+		}
+
+		// The row comes first in search order, so no word moved before it
+		int firstLineTouched = lines[0];
+		List<Word> changed = new ArrayList<>();
+		for (int word = affected.nextSetBit(0); word >= 0; word = affected.nextSetBit(word + 1)) {
+			int oldFirstLine = firstLines[word];
+			int from = oldFirstLine == -1 ? firstLineTouched : Math.min(oldFirstLine, firstLineTouched);
+			int firstLine = wordLines[word].nextSetBit(from);
+			long match;
+			if (firstLine == -1) {
+				match = Match.NOT_FOUND;
+			} else if (firstLine == oldFirstLine && !contains(lines, firstLine)) {
+				match = matches[word];
+			} else {
+				match = locateInLine(word, firstLine);
+			}
+
+			firstLines[word] = firstLine;
+			if (match != matches[word]) {
+				matches[word] = match;
+				changed.add(new Word(words.get(word), match));
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Current location of each word, {@link Match#NOT_FOUND} for the words that
+	 * are not in the grid
+	 */
+	public List<Word> getWords() {
+		List<Word> located = new ArrayList<>(words.size());
+		for (int i = 0; i < words.size(); i++) {
+			located.add(new Word(words.get(i), matches[i]));
+		}
+		return Collections.unmodifiableList(located);
+	}
+
+	/**
+	 * Word search over a copy of the grid as it is now
+	 */
+	public WordSearch toWordSearch() {
+		return new WordSearch(words, new Grid(grid.getCells().clone(), grid.getWidth(), grid.getHeight()));
+	}
+
+	/**
+	 * Indexes of the words found in the line, sorted
+	 */
+	private int[] scanLine(int lineNumber) {
+		BitSet found = new BitSet(words.size());
+		matcher.scan(grid.getLine(lineNumber), (wordIndex, backwards, index) -> found.set(wordIndex));
+		return found.isEmpty() ? NO_WORDS : found.stream().toArray();
+	}
+
+	/**
+	 * Locates a word in a line it is found in, forwards first like
+	 * {@link WordSearch#findMatchForWord(String)}
+	 */
+	private long locateInLine(int word, int lineNumber) {
+		String letters = words.get(word);
+		GridLine line = grid.getLine(lineNumber);
+		int index = line.indexOf(letters);
+		if (index > -1) {
+			return grid.locate(lineNumber, index, letters.length(), false);
+		}
+		return grid.locate(lineNumber, line.indexOf(new StringBuilder(letters).reverse().toString()),
+				letters.length(), true);
+	}
+
+	private static boolean contains(int[] lines, int lineNumber) {
+		for (int line : lines) {
+			if (line == lineNumber) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,174 @@
+package com.kata.word.search.impl;
+
+/**
+ * Letters of the grid stored once, row after row, in a flat array of bytes.
+ * Rows, columns and diagonals are read through {@link GridLine} views, no
+ * letter is ever copied.
+ */
+public class Grid {
+
+	private final byte[] cells;
+	private final int width;
+	private final int height;
+
+	public Grid(byte[] cells, int width, int height) {
+		if (width < 0 || height < 0 || (long) width * height != cells.length) {
+			throw new IllegalArgumentException("The grid dimensions don't match the number of cells");
+		}
+
+		this.cells = cells;
+		this.width = width;
+		this.height = height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public char getLetter(int x, int y) {
+		return (char) cells[y * width + x];
+	}
+
+	byte[] getCells() {
+		return cells;
+	}
+
+	public GridLine getRow(int y) {
+		return new GridLine(cells, y * width, 1, width);
+	}
+
+	public GridLine getColumn(int x) {
+		return new GridLine(cells, x, width, height);
+	}
+
+	public int getDiagonalsCount() {
+		return width + height - 1;
+	}
+
+	/**
+	 * Diagonal moving from the left top to the right bottom corner, starting from
+	 * the left bottom corner of the grid and ending in its right top corner
+	 */
+	public GridLine getDiagonalAscending(int diagonalNumber) {
+		int x = diagonalNumber >= height ? diagonalNumber - height + 1 : 0;
+		int y = diagonalNumber < height ? height - 1 - diagonalNumber : 0;
+		return new GridLine(cells, y * width + x, width + 1, Math.min(width - x, height - y));
+	}
+
+	/**
+	 * Diagonal moving from the left bottom to the right top corner, starting from
+	 * the left top corner of the grid and ending in its right bottom corner
+	 */
+	public GridLine getDiagonalDescending(int diagonalNumber) {
+		int x = diagonalNumber >= height ? diagonalNumber - height + 1 : 0;
+		int y = diagonalNumber < height ? diagonalNumber : height - 1;
+		return new GridLine(cells, y * width + x, 1 - width, Math.min(width - x, y + 1));
+	}
+
+	/**
+	 * Number of lines a word is searched in: rows, columns, diagonals ascending and
+	 * diagonals descending
+	 */
+	public int getLinesCount() {
+		return height + width + 2 * getDiagonalsCount();
+	}
+
+	/**
+	 * Line numbered in the order the grid is searched: rows, columns, diagonals
+	 * ascending then diagonals descending
+	 */
+	public GridLine getLine(int lineNumber) {
+		if (lineNumber < height) {
+			return getRow(lineNumber);
+		}
+		lineNumber -= height;
+		if (lineNumber < width) {
+			return getColumn(lineNumber);
+		}
+		lineNumber -= width;
+		if (lineNumber < getDiagonalsCount()) {
+			return getDiagonalAscending(lineNumber);
+		}
+		return getDiagonalDescending(lineNumber - getDiagonalsCount());
+	}
+
+	/**
+	 * Direction a line numbered like in {@link #getLine(int)} is read in
+	 */
+	public Direction getLineDirection(int lineNumber) {
+		if (lineNumber < height) {
+			return Direction.HORIZONTALLY_FORWARDS;
+		}
+		if (lineNumber < height + width) {
+			return Direction.VERTICALLY_FORWARDS;
+		}
+		if (lineNumber < height + width + getDiagonalsCount()) {
+			return Direction.DIAGONALLY_ASCENDING_FORWARDS;
+		}
+		return Direction.DIAGONALLY_DESCENDING_FORWARDS;
+	}
+
+	/**
+	 * Numbers of the four lines going through a cell, like in
+	 * {@link #getLine(int)}: its row, its column, its diagonal ascending and its
+	 * diagonal descending
+	 */
+	public int[] getLinesThrough(int x, int y) {
+		// Cells of a diagonal ascending have the same x - y, of a diagonal descending the same x + y
+		return new int[] { y, height + x, height + width + height - 1 + x - y,
+				height + width + getDiagonalsCount() + x + y };
+	}
+
+	/**
+	 * Packs the location of a word found at the given index of a line, the
+	 * backward index being the index of the reversed word
+	 */
+	public long locate(int lineNumber, int index, int length, boolean backwards) {
+		// The word starts on its first letter, which is the last one of the reversed word
+		int offset = getLine(lineNumber).getOffset(backwards ? index + length - 1 : index);
+		Direction direction = getLineDirection(lineNumber);
+		return Match.of(getX(offset), getY(offset), backwards ? direction.reverse() : direction, length);
+	}
+
+	/**
+	 * Packs the location of a word from its rank in search order, the inverse of
+	 * {@link Match#getSearchOrder(long, int)}
+	 */
+	public long locateSearchOrder(long searchOrder, int length) {
+		long lineValues = Match.MAX_VALUE + 1L;
+		int index = (int) (searchOrder % lineValues);
+		long line = searchOrder / lineValues;
+		boolean backwards = line % 2 == 1;
+		line /= 2;
+		int group = (int) (line / (lineValues * 2));
+		int lineNumber = (int) (line % (lineValues * 2));
+		if (group > 0) {
+			lineNumber += height;
+		}
+		if (group > 1) {
+			lineNumber += width;
+		}
+		if (group > 2) {
+			lineNumber += getDiagonalsCount();
+		}
+		return locate(lineNumber, index, length, backwards);
+	}
+
+	/**
+	 * Converts a cell offset returned by {@link GridLine#getOffset(int)} to its x
+	 */
+	public int getX(int offset) {
+		return offset % width;
+	}
+
+	/**
+	 * Converts a cell offset returned by {@link GridLine#getOffset(int)} to its y
+	 */
+	public int getY(int offset) {
+		return offset / width;
+	}
+}
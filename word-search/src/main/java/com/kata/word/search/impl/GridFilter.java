@@ -0,0 +1,108 @@
+package com.kata.word.search.impl;
+
+/**
+ * Summary of the letters of a grid that rejects most of the words not in it
+ * without scanning any line: the number of cells holding each letter, and the
+ * sequences of 2, 3 and 4 letters read in a line, in both orientations. A word
+ * in the grid always passes, a word that passes may still be missing.
+ *
+ * Checking a word costs its length, the summary takes about 60KB. On grids of
+ * millions of cells almost every sequence of 4 letters is found, only the
+ * longer words are then rejected by their letter counts.
+ */
+public class GridFilter {
+
+	private static final int LETTERS = 26;
+	private static final int BIGRAMS = LETTERS * LETTERS;
+	private static final int TRIGRAMS = BIGRAMS * LETTERS;
+	private static final int QUADGRAMS = TRIGRAMS * LETTERS;
+
+	private final int maxLength;
+	private final int[] letterCounts = new int[LETTERS];
+	private final long[] bigrams = new long[(BIGRAMS + 63) >>> 6];
+	private final long[] trigrams = new long[(TRIGRAMS + 63) >>> 6];
+	private final long[] quadgrams = new long[(QUADGRAMS + 63) >>> 6];
+
+	public GridFilter(Grid grid) {
+		maxLength = Math.max(grid.getWidth(), grid.getHeight());
+		for (int y = 0; y < grid.getHeight(); y++) {
+			for (int x = 0; x < grid.getWidth(); x++) {
+				int letter = grid.getLetter(x, y) - 'A';
+				if (letter >= 0 && letter < LETTERS) {
+					letterCounts[letter]++;
+				}
+			}
+		}
+		for (int lineNumber = 0; lineNumber < grid.getLinesCount(); lineNumber++) {
+			addLine(grid.getLine(lineNumber));
+		}
+	}
+
+	/**
+	 * Adds the sequences read in the line, and the same sequences reversed
+	 */
+	private void addLine(GridLine line) {
+		int run = 0; // letters read since the start of the line or the last invalid letter
+		int forwards = 0; // last 4 letters, the last one as the lowest digit
+		int backwards = 0; // last 4 letters reversed, the last one as the highest digit
+		for (int i = 0; i < line.length(); i++) {
+			int letter = line.charAt(i) - 'A';
+			if (letter < 0 || letter >= LETTERS) {
+				run = 0;
+				forwards = 0;
+				backwards = 0;
+				continue;
+			}
+
+			run++;
+			forwards = (forwards * LETTERS + letter) % QUADGRAMS;
+			backwards = backwards / LETTERS + letter * TRIGRAMS;
+			if (run >= 2) {
+				set(bigrams, forwards % BIGRAMS);
+				set(bigrams, backwards / BIGRAMS);
+			}
+			if (run >= 3) {
+				set(trigrams, forwards % TRIGRAMS);
+				set(trigrams, backwards / LETTERS);
+			}
+			if (run >= 4) {
+				set(quadgrams, forwards);
+				set(quadgrams, backwards);
+			}
+		}
+	}
+
+	private static void set(long[] bits, int bit) {
+		bits[bit >>> 6] |= 1L << bit;
+	}
+
+	private static boolean isSet(long[] bits, int bit) {
+		return (bits[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * False if the word is certainly not in the grid, true if it may be
+	 */
+	public boolean mayContain(String word) {
+		if (word.isEmpty() || word.length() > maxLength) {
+			return false;
+		}
+
+		int[] counts = new int[LETTERS];
+		int forwards = 0;
+		for (int i = 0; i < word.length(); i++) {
+			int letter = word.charAt(i) - 'A';
+			if (letter < 0 || letter >= LETTERS || ++counts[letter] > letterCounts[letter]) {
+				// The letters of a word are in distinct cells
+				return false;
+			}
+
+			forwards = (forwards * LETTERS + letter) % QUADGRAMS;
+			if ((i >= 1 && !isSet(bigrams, forwards % BIGRAMS)) || (i >= 2 && !isSet(trigrams, forwards % TRIGRAMS))
+					|| (i >= 3 && !isSet(quadgrams, forwards))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
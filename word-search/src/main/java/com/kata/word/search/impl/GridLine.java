@@ -0,0 +1,85 @@
+package com.kata.word.search.impl;
+
+/**
+ * Read only view over a straight line of letters of a {@link Grid}. Letters are
+ * read from the grid cells using a fixed stride, so rows, columns and diagonals
+ * don't need to be copied.
+ */
+public class GridLine implements CharSequence {
+
+	private final byte[] cells;
+	private final int start;
+	private final int stride;
+	private final int length;
+
+	GridLine(byte[] cells, int start, int stride, int length) {
+		this.cells = cells;
+		this.start = start;
+		this.stride = stride;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of the line of length " + length);
+		}
+		return (char) cells[start + index * stride];
+	}
+
+	/**
+	 * Offset in the grid cells of the letter at the given index of the line
+	 */
+	public int getOffset(int index) {
+		return start + index * stride;
+	}
+
+	/**
+	 * Same as {@link String#indexOf(String)}, reading the letters straight from
+	 * the grid cells
+	 */
+	public int indexOf(String word) {
+		int wordLength = word.length();
+		if (wordLength == 0) {
+			return 0;
+		}
+
+		char first = word.charAt(0);
+		int last = length - wordLength;
+		for (int index = 0, offset = start; index <= last; index++, offset += stride) {
+			if (cells[offset] != first) {
+				continue;
+			}
+			int letter = 1;
+			for (int next = offset + stride; letter < wordLength && cells[next] == word.charAt(letter); next += stride) {
+				letter++;
+			}
+			if (letter == wordLength) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public CharSequence subSequence(int beginIndex, int endIndex) {
+		if (beginIndex < 0 || endIndex > length || beginIndex > endIndex) {
+			throw new IndexOutOfBoundsException("Invalid range [" + beginIndex + ", " + endIndex + ")");
+		}
+		return new GridLine(cells, start + beginIndex * stride, stride, endIndex - beginIndex);
+	}
+
+	@Override
+	public String toString() {
+		char[] letters = new char[length];
+		for (int index = 0; index < length; index++) {
+			letters[index] = (char) cells[start + index * stride];
+		}
+		return new String(letters);
+	}
+}
@@ -0,0 +1,330 @@
+package com.kata.word.search.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+
+/**
+ * Reads the list of words and the grid in a single pass over the bytes of the
+ * input, validating the comma separated format while the letters are copied
+ * into the grid cells. Files are memory mapped, one window at a time, other
+ * inputs are read through a fixed size buffer.
+ */
+class GridParser implements AutoCloseable {
+
+	static final String INVALID_WORDS_MESSAGE = "The words should be at least 2 letters long, only upercase letters and separated by comma.";
+	static final String INVALID_GRID_MESSAGE = "The grid should contain only upper case letters separated by comma.";
+	static final String INVALID_COLUMNS_MESSAGE = "The Grid has invalid number of columns";
+	static final String INVALID_ROWS_MESSAGE = "The Grid has invalid number of rows";
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final long MAPPED_WINDOW_SIZE = 1 << 26;
+	private static final int MAX_GRID_SIZE = 46340; // largest size whose number of cells fits in an array
+
+	private final FileChannel file; // null when reading from a stream
+	private final ReadableByteChannel stream;
+	private long position;
+	private ByteBuffer buffer;
+	private boolean skipLineFeed; // a carriage return was read, a line feed following it is part of the same line end
+	private int gridSize;
+	private long[] rowPositions;
+	private long readTime; // time spent filling the buffer, only measured when metrics are enabled
+
+	private GridParser(FileChannel file, ReadableByteChannel stream) {
+		this.file = file;
+		this.stream = stream;
+		this.buffer = file == null ? ByteBuffer.allocate(BUFFER_SIZE) : ByteBuffer.allocate(0);
+		this.buffer.limit(0);
+	}
+
+	/**
+	 * Words and grid read from an input
+	 */
+	static class Puzzle {
+
+		private final List<String> words;
+		private final Grid grid;
+
+		Puzzle(List<String> words, Grid grid) {
+			this.words = words;
+			this.grid = grid;
+		}
+
+		List<String> getWords() {
+			return words;
+		}
+
+		Grid getGrid() {
+			return grid;
+		}
+	}
+
+	static Puzzle read(Path path) throws IOException, InvalidWordException, InvalidGridException {
+		SearchMetrics.Probe probe = SearchMetrics.start(SearchMetrics.Phase.PARSE);
+		try (GridParser parser = open(path)) {
+			Puzzle puzzle = new Puzzle(parser.readWords(), parser.readGrid());
+			parser.stop(probe);
+			return puzzle;
+		}
+	}
+
+	/**
+	 * Reads the words and the grid from a stream, the stream is not closed
+	 */
+	static Puzzle read(InputStream input) throws IOException, InvalidWordException, InvalidGridException {
+		SearchMetrics.Probe probe = SearchMetrics.start(SearchMetrics.Phase.PARSE);
+		GridParser parser = open(input);
+		Puzzle puzzle = new Puzzle(parser.readWords(), parser.readGrid());
+		parser.stop(probe);
+		return puzzle;
+	}
+
+	/**
+	 * Reads the grid of a file, the first line is skipped without validating the
+	 * words
+	 */
+	static Grid readGrid(Path path) throws IOException, InvalidGridException {
+		SearchMetrics.Probe probe = SearchMetrics.start(SearchMetrics.Phase.PARSE);
+		try (GridParser parser = open(path)) {
+			parser.skipLine();
+			Grid grid = parser.readGrid();
+			parser.stop(probe);
+			return grid;
+		}
+	}
+
+	/**
+	 * Records the time spent reading apart from the time spent parsing
+	 */
+	private void stop(SearchMetrics.Probe probe) {
+		SearchMetrics.split(probe, SearchMetrics.Phase.READ, readTime);
+		SearchMetrics.stop(probe);
+	}
+
+	static List<String> parseWords(String firstLine) throws InvalidWordException {
+		try {
+			return open(new ByteArrayInputStream(firstLine.getBytes(StandardCharsets.ISO_8859_1))).readWords();
+		} catch (IOException e) {
+			// Never thrown when reading from memory
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static GridParser open(Path path) throws IOException {
+		return new GridParser(FileChannel.open(path, StandardOpenOption.READ), null);
+	}
+
+	static GridParser open(InputStream input) {
+		return new GridParser(null, Channels.newChannel(input));
+	}
+
+	/**
+	 * Reads the first line, which should contain all the words
+	 */
+	List<String> readWords() throws IOException, InvalidWordException {
+		List<String> words = new ArrayList<>();
+		StringBuilder word = new StringBuilder();
+		boolean lineEnded = false;
+		while (!lineEnded && hasNext()) {
+			byte letter = next();
+			if (isLineEnd(letter)) {
+				lineEnded = true;
+			} else if (letter == ',') {
+				addWord(words, word);
+			} else if (letter >= 'A' && letter <= 'Z') {
+				word.append((char) letter);
+			} else {
+				throw new InvalidWordException(INVALID_WORDS_MESSAGE);
+			}
+		}
+		addWord(words, word);
+		return words;
+	}
+
+	private void skipLine() throws IOException {
+		boolean lineEnded = false;
+		while (!lineEnded && hasNext()) {
+			lineEnded = isLineEnd(next());
+		}
+	}
+
+	private static void addWord(List<String> words, StringBuilder word) throws InvalidWordException {
+		if (word.length() < 2) {
+			throw new InvalidWordException(INVALID_WORDS_MESSAGE);
+		}
+		words.add(word.toString());
+		word.setLength(0);
+	}
+
+	/**
+	 * Reads the rest of the lines as the rows of a square grid
+	 */
+	Grid readGrid() throws IOException, InvalidGridException {
+		return new Grid(scanGrid(true), gridSize, gridSize);
+	}
+
+	/**
+	 * Validates the rest of the lines like {@link #readGrid()} without keeping the
+	 * letters, returns the position in the file of the first letter of each row.
+	 * The letter of column x is 2 * x bytes after the start of its row.
+	 */
+	long[] readRowPositions() throws IOException, InvalidGridException {
+		if (file == null) {
+			throw new IllegalStateException("Row positions can only be read from a file");
+		}
+		scanGrid(false);
+		return rowPositions;
+	}
+
+	private byte[] scanGrid(boolean keepCells) throws IOException, InvalidGridException {
+		gridSize = -1;
+		rowPositions = new long[1]; // holds the first row position until the grid size is known
+		byte[] cells = new byte[keepCells ? 16 : 0]; // holds the first row until the grid size is known
+		int rowsCount = 0;
+		int column = 0;
+		boolean expectLetter = true;
+		boolean rowStarted = false;
+
+		while (hasNext() || rowStarted) {
+			byte letter = hasNext() ? next() : (byte) '\n';
+			if (isLineEnd(letter)) {
+				// Each row needs at least two letters and shouldn't end with a comma
+				if (expectLetter || column < 2) {
+					throw new InvalidGridException(INVALID_GRID_MESSAGE);
+				}
+				if (gridSize == -1) {
+					// Assumes first row length (number of columns) should be the grid size, meaning
+					// we expect all rows to have the same length and and same number of rows
+					gridSize = column;
+					if (keepCells) {
+						if (gridSize > MAX_GRID_SIZE) {
+							throw new InvalidGridException("The Grid is too large to be loaded in memory");
+						}
+						byte[] firstRow = cells;
+						cells = new byte[gridSize * gridSize];
+						System.arraycopy(firstRow, 0, cells, 0, gridSize);
+					} else {
+						rowPositions = Arrays.copyOf(rowPositions, gridSize);
+					}
+				} else if (column != gridSize) {
+					throw new InvalidGridException(INVALID_COLUMNS_MESSAGE);
+				}
+				rowsCount++;
+				column = 0;
+				expectLetter = true;
+				rowStarted = false;
+			} else if (expectLetter) {
+				if (letter < 'A' || letter > 'Z') {
+					throw new InvalidGridException(INVALID_GRID_MESSAGE);
+				}
+				if (keepCells) {
+					if (gridSize == -1) {
+						if (column == cells.length) {
+							cells = Arrays.copyOf(cells, cells.length * 2);
+						}
+						cells[column] = letter;
+					} else if (column < gridSize && rowsCount < gridSize) {
+						cells[rowsCount * gridSize + column] = letter;
+					}
+				} else if (column == 0 && (gridSize == -1 ? rowsCount == 0 : rowsCount < gridSize)) {
+					rowPositions[rowsCount] = position - buffer.remaining() - 1;
+				}
+				column++;
+				expectLetter = false;
+				rowStarted = true;
+			} else if (letter == ',') {
+				expectLetter = true;
+			} else {
+				throw new InvalidGridException(INVALID_GRID_MESSAGE);
+			}
+		}
+
+		if (rowsCount != gridSize) {
+			throw new InvalidGridException(INVALID_ROWS_MESSAGE);
+		}
+		return cells;
+	}
+
+	/**
+	 * Consumes a line end, a carriage return followed by a line feed being a
+	 * single line end
+	 */
+	private boolean isLineEnd(byte letter) {
+		if (letter == '\n' || letter == '\r') {
+			skipLineFeed = letter == '\r';
+			return true;
+		}
+		return false;
+	}
+
+	private boolean hasNext() throws IOException {
+		while (!buffer.hasRemaining()) {
+			if (!fill()) {
+				return false;
+			}
+		}
+		if (skipLineFeed) {
+			skipLineFeed = false;
+			if (buffer.get(buffer.position()) == '\n') {
+				buffer.get();
+				return hasNext();
+			}
+		}
+		return true;
+	}
+
+	private byte next() {
+		return buffer.get();
+	}
+
+	private boolean fill() throws IOException {
+		if (!SearchMetrics.isEnabled()) {
+			return readNext();
+		}
+		long start = System.nanoTime();
+		boolean filled = readNext();
+		readTime += System.nanoTime() - start;
+		return filled;
+	}
+
+	private boolean readNext() throws IOException {
+		if (file != null) {
+			long remaining = file.size() - position;
+			if (remaining <= 0) {
+				return false;
+			}
+			long size = Math.min(remaining, MAPPED_WINDOW_SIZE);
+			buffer = file.map(FileChannel.MapMode.READ_ONLY, position, size);
+			position += size;
+			return true;
+		}
+
+		buffer.clear();
+		int read = stream.read(buffer);
+		buffer.flip();
+		return read >= 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (file != null) {
+			file.close();
+		} else {
+			stream.close();
+		}
+	}
+}
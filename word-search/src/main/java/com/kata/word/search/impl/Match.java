@@ -0,0 +1,121 @@
+package com.kata.word.search.impl;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Location of a word packed in a single long: x and y of the first letter, the
+ * direction the word is read in and its length. The coordinates of each letter
+ * are only created when they are asked for.
+ */
+public final class Match {
+
+	public static final long NOT_FOUND = -1L;
+	public static final int MAX_VALUE = (1 << 20) - 1; // largest coordinate or length that can be packed
+
+	private static final int LENGTH_SHIFT = 0;
+	private static final int Y_SHIFT = 20;
+	private static final int X_SHIFT = 40;
+	private static final int DIRECTION_SHIFT = 60;
+
+	private Match() {
+	}
+
+	public static long of(int x, int y, Direction direction, int length) {
+		if (x < 0 || y < 0 || length < 0) {
+			throw new IllegalArgumentException("Match values must by positive");
+		}
+		if (x > MAX_VALUE || y > MAX_VALUE || length > MAX_VALUE) {
+			throw new IllegalArgumentException("Match values must not be greater than " + MAX_VALUE);
+		}
+
+		return ((long) direction.ordinal() << DIRECTION_SHIFT) | ((long) x << X_SHIFT) | ((long) y << Y_SHIFT)
+				| ((long) length << LENGTH_SHIFT);
+	}
+
+	public static int getX(long match) {
+		return (int) (match >>> X_SHIFT) & MAX_VALUE;
+	}
+
+	public static int getY(long match) {
+		return (int) (match >>> Y_SHIFT) & MAX_VALUE;
+	}
+
+	public static int getLength(long match) {
+		return (int) (match >>> LENGTH_SHIFT) & MAX_VALUE;
+	}
+
+	public static Direction getDirection(long match) {
+		return Direction.valueOf((int) (match >>> DIRECTION_SHIFT));
+	}
+
+	/**
+	 * Rank of a match in the order the grid is searched: rows, columns, diagonals
+	 * ascending then diagonals descending, each list line by line. Within a line a
+	 * forwards match comes before a backwards one, then the first index wins. The
+	 * smallest rank is the match {@link WordSearch#findMatchForWord(String)} finds.
+	 */
+	public static long getSearchOrder(long match, int gridHeight) {
+		Direction direction = getDirection(match);
+		int length = getLength(match);
+		// Lines are read forwards, a backwards word is read from its last letter
+		int x = getX(match);
+		int y = getY(match);
+		if (direction.isBackwards()) {
+			x += direction.getStepX() * (length - 1);
+			y += direction.getStepY() * (length - 1);
+		}
+
+		int group = direction.ordinal() / 2;
+		int line;
+		int index;
+		if (group == 0) {
+			line = y;
+			index = x;
+		} else if (group == 1) {
+			line = x;
+			index = y;
+		} else if (group == 2) {
+			index = Math.min(x, y);
+			line = x == index ? gridHeight - 1 - (y - index) : gridHeight - 1 + (x - index);
+		} else {
+			index = Math.min(x, gridHeight - 1 - y);
+			line = x == index ? y + index : gridHeight - 1 + (x - index);
+		}
+
+		return (((long) group * (MAX_VALUE + 1) * 2 + line) * 2 + (direction.isBackwards() ? 1 : 0)) * (MAX_VALUE + 1)
+				+ index;
+	}
+
+	/**
+	 * Creates the coordinates of each letter of the word, ordered by letter index
+	 */
+	public static Set<Coordinates> toCoordinates(long match) {
+		Set<Coordinates> coordinates = new TreeSet<>();
+		Direction direction = getDirection(match);
+		int x = getX(match);
+		int y = getY(match);
+		for (int i = 0; i < getLength(match); i++) {
+			coordinates.add(new Coordinates(x + i * direction.getStepX(), y + i * direction.getStepY(), i));
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Appends the coordinates of each letter in the same format as
+	 * {@link Coordinates#toString()}, separated by comma
+	 */
+	public static StringBuilder appendTo(StringBuilder builder, long match) {
+		Direction direction = getDirection(match);
+		int x = getX(match);
+		int y = getY(match);
+		for (int i = 0; i < getLength(match); i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append('(').append(x + i * direction.getStepX()).append(',').append(y + i * direction.getStepY())
+					.append(')');
+		}
+		return builder;
+	}
+}
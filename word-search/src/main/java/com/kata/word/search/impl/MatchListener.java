@@ -0,0 +1,7 @@
+package com.kata.word.search.impl;
+
+@FunctionalInterface
+public interface MatchListener {
+
+	public void onMatch(int wordIndex, boolean backwards, int index);
+}
@@ -0,0 +1,10 @@
+package com.kata.word.search.impl;
+
+@FunctionalInterface
+public interface OccurrenceListener {
+
+	/**
+	 * @param match packed location of the occurrence, see {@link Match}
+	 */
+	public void onOccurrence(String word, long match);
+}
@@ -0,0 +1,85 @@
+package com.kata.word.search.impl;
+
+import java.util.List;
+
+/**
+ * Scans the lines of a grid one at a time, in search order, reporting every
+ * occurrence of the words up to a limit per word. A palindrome read backwards
+ * covers the same cells as read forwards, it is only reported forwards.
+ */
+class OccurrenceScanner {
+
+	private final List<String> words;
+	private final Grid grid;
+	private final WordMatcher matcher;
+	private final boolean[] palindromes;
+	private final long limitPerWord;
+	private final long[] counts;
+	private int remaining; // words whose limit is not reached
+	private int nextLine;
+
+	OccurrenceScanner(List<String> words, Grid grid, long limitPerWord) {
+		if (limitPerWord < 1) {
+			throw new IllegalArgumentException("The limit per word must be positive");
+		}
+
+		this.words = words;
+		this.grid = grid;
+		this.limitPerWord = limitPerWord;
+		matcher = new WordMatcher(words);
+		palindromes = new boolean[words.size()];
+		for (int i = 0; i < words.size(); i++) {
+			palindromes[i] = new StringBuilder(words.get(i)).reverse().toString().equals(words.get(i));
+		}
+		counts = new long[words.size()];
+		remaining = words.size();
+	}
+
+	/**
+	 * Scans the next line, returns false once all the lines are scanned or all the
+	 * words reached their limit
+	 */
+	boolean scanNextLine(OccurrenceListener listener) {
+		if (nextLine >= grid.getLinesCount() || remaining == 0) {
+			return false;
+		}
+
+		int lineNumber = nextLine++;
+		GridLine line = grid.getLine(lineNumber);
+		Direction direction = grid.getLineDirection(lineNumber);
+		matcher.scan(line, (wordIndex, backwards, index) -> {
+			if (!count(wordIndex, backwards)) {
+				return;
+			}
+			int length = words.get(wordIndex).length();
+			// The word starts on its first letter, which is the last one of the reversed word
+			int offset = line.getOffset(backwards ? index + length - 1 : index);
+			listener.onOccurrence(words.get(wordIndex), Match.of(grid.getX(offset), grid.getY(offset),
+					backwards ? direction.reverse() : direction, length));
+		});
+		return true;
+	}
+
+	/**
+	 * Counts the occurrences in the remaining lines without locating them
+	 */
+	long[] countAll() {
+		for (; nextLine < grid.getLinesCount() && remaining > 0; nextLine++) {
+			matcher.scan(grid.getLine(nextLine), (wordIndex, backwards, index) -> count(wordIndex, backwards));
+		}
+		return counts;
+	}
+
+	/**
+	 * Counts an occurrence, returns false if it is not reported
+	 */
+	private boolean count(int wordIndex, boolean backwards) {
+		if ((backwards && palindromes[wordIndex]) || counts[wordIndex] >= limitPerWord) {
+			return false;
+		}
+		if (++counts[wordIndex] == limitPerWord) {
+			remaining--;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,16 @@
+package com.kata.word.search.impl;
+
+/**
+ * Records the phases timed by {@link SearchMetrics} outside of the metrics,
+ * implemented with JDK Flight Recorder in the separate jfr source folder so the
+ * other classes are compiled for Java 8.
+ */
+interface PhaseRecorder {
+
+	/**
+	 * Starts recording a phase, returns null if it is not recorded
+	 */
+	Object begin(String phase);
+
+	void commit(Object started, long linesScanned, long candidates);
+}
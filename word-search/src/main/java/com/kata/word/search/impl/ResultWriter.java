@@ -0,0 +1,145 @@
+package com.kata.word.search.impl;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes words in the format of {@link Word#toString()}, separated by the line
+ * separator like {@link WordSearch#print()}, encoding the letters and
+ * coordinates straight into a buffer that is written to the channel each time
+ * it is full. No string is created for a word or its coordinates.
+ *
+ * The output is encoded in UTF-8. The channel is not closed, {@link #flush()}
+ * writes what is left in the buffer.
+ */
+public class ResultWriter implements Flushable {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	private static final int MIN_BUFFER_SIZE = 64; // holds the longest coordinates
+	private static final byte[] LINE_SEPARATOR = System.getProperty("line.separator")
+			.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] NOT_FOUND = "null".getBytes(StandardCharsets.UTF_8);
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private boolean firstWord = true;
+
+	public ResultWriter(WritableByteChannel channel) {
+		this(channel, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+	}
+
+	/**
+	 * Writes through a buffer that can be reused once this writer is flushed, it
+	 * is cleared first
+	 */
+	public ResultWriter(WritableByteChannel channel, ByteBuffer buffer) {
+		if (buffer.capacity() < MIN_BUFFER_SIZE) {
+			throw new IllegalArgumentException("The buffer must hold at least " + MIN_BUFFER_SIZE + " bytes");
+		}
+
+		this.channel = channel;
+		this.buffer = buffer;
+		buffer.clear();
+	}
+
+	public ResultWriter(OutputStream output) {
+		this(Channels.newChannel(output));
+	}
+
+	/**
+	 * Writes a word and its location, after a line separator unless it is the
+	 * first word
+	 */
+	public void write(Word word) throws IOException {
+		if (!firstWord) {
+			writeLineSeparator();
+		}
+		firstWord = false;
+
+		String letters = word.getWord();
+		for (int i = 0; i < letters.length(); i++) {
+			char letter = letters.charAt(i);
+			if (letter >= 0x80) {
+				// Only valid words are plain ASCII
+				put(letters.substring(i).getBytes(StandardCharsets.UTF_8));
+				break;
+			}
+			ensureRemaining(1);
+			buffer.put((byte) letter);
+		}
+		ensureRemaining(2);
+		buffer.put((byte) ':').put((byte) ' ');
+
+		long match = word.getMatch();
+		if (match == Match.NOT_FOUND) {
+			put(NOT_FOUND);
+			return;
+		}
+		Direction direction = Match.getDirection(match);
+		int x = Match.getX(match);
+		int y = Match.getY(match);
+		for (int i = 0; i < Match.getLength(match); i++) {
+			ensureRemaining(MIN_BUFFER_SIZE);
+			if (i > 0) {
+				buffer.put((byte) ',');
+			}
+			buffer.put((byte) '(');
+			putNumber(x + i * direction.getStepX());
+			buffer.put((byte) ',');
+			putNumber(y + i * direction.getStepY());
+			buffer.put((byte) ')');
+		}
+	}
+
+	public void writeLineSeparator() throws IOException {
+		put(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes what is left in the buffer to the channel
+	 */
+	@Override
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private void ensureRemaining(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	private void put(byte[] bytes) throws IOException {
+		for (int offset = 0; offset < bytes.length;) {
+			ensureRemaining(1);
+			int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.put(bytes, offset, length);
+			offset += length;
+		}
+	}
+
+	/**
+	 * Writes the decimal digits of a coordinate, which is never negative
+	 */
+	private void putNumber(int value) {
+		int digits = 1;
+		for (int rest = value / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		int end = buffer.position() + digits;
+		for (int position = end - 1; position >= buffer.position(); position--) {
+			buffer.put(position, (byte) ('0' + value % 10));
+			value /= 10;
+		}
+		buffer.position(end);
+	}
+}
@@ -0,0 +1,17 @@
+package com.kata.word.search.impl;
+
+/**
+ * Finds a word in a grid. The match found must be the same as the one found by
+ * the line by line search of {@link WordSearch}, see
+ * {@link Match#getSearchOrder(long, int)}.
+ */
+public interface SearchEngine {
+
+	public Grid getGrid();
+
+	/**
+	 * Returns the packed location of the word, {@link Match#NOT_FOUND} if it isn't
+	 * in the grid
+	 */
+	public long findMatch(String word);
+}
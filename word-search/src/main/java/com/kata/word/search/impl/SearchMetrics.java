@@ -0,0 +1,201 @@
+package com.kata.word.search.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent in each phase of loading and searching a grid, with the number of
+ * lines scanned and of candidate matches found while searching, added up over
+ * all the word searches since metrics were enabled.
+ *
+ * Metrics are disabled by default, or enabled at startup with the system
+ * property word.search.metrics=true. Independently of the metrics, each phase
+ * is committed as an event to JDK Flight Recorder when the JVM provides it and
+ * a recording enables the event, so the settings of the recording decide. When
+ * neither is on, each phase only reads a volatile flag and checks the event.
+ */
+public final class SearchMetrics {
+
+	public enum Phase {
+		/** Reading the input, or mapping it: page faults of a mapped file count as PARSE */
+		READ,
+		/** Validating the words and the grid while copying the letters into the cells */
+		PARSE,
+		SEARCH_ROWS,
+		SEARCH_COLUMNS,
+		SEARCH_DIAGONALS_ASCENDING,
+		SEARCH_DIAGONALS_DESCENDING,
+		/** Queries answered by a {@link SearchEngine} */
+		SEARCH_ENGINE
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final PhaseRecorder FLIGHT_RECORDER = loadFlightRecorder(); // null if not available
+
+	private static volatile boolean enabled = Boolean.getBoolean("word.search.metrics");
+	private static final LongAdder[] times = newAdders();
+	private static final LongAdder[] counts = newAdders();
+	private static final LongAdder[] linesScanned = newAdders();
+	private static final LongAdder[] candidates = newAdders();
+
+	private final Map<Phase, long[]> values; // time, count, lines scanned and candidates of each phase
+
+	private SearchMetrics(Map<Phase, long[]> values) {
+		this.values = values;
+	}
+
+	private static LongAdder[] newAdders() {
+		LongAdder[] adders = new LongAdder[PHASES.length];
+		for (int i = 0; i < adders.length; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	private static PhaseRecorder loadFlightRecorder() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			// Compiled apart from the other classes, which don't depend on jdk.jfr
+			return (PhaseRecorder) Class.forName("com.kata.word.search.impl.SearchPhaseEvent$Recorder")
+					.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		SearchMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Current values of the metrics
+	 */
+	public static SearchMetrics snapshot() {
+		Map<Phase, long[]> values = new EnumMap<>(Phase.class);
+		for (Phase phase : PHASES) {
+			int i = phase.ordinal();
+			values.put(phase,
+					new long[] { times[i].sum(), counts[i].sum(), linesScanned[i].sum(), candidates[i].sum() });
+		}
+		return new SearchMetrics(values);
+	}
+
+	public static void reset() {
+		for (int i = 0; i < PHASES.length; i++) {
+			times[i].reset();
+			counts[i].reset();
+			linesScanned[i].reset();
+			candidates[i].reset();
+		}
+	}
+
+	/**
+	 * Starts timing a phase, returns null when metrics are disabled and the phase
+	 * is not recorded by the flight recorder
+	 */
+	static Probe start(Phase phase) {
+		Object event = FLIGHT_RECORDER != null ? FLIGHT_RECORDER.begin(phase.name()) : null;
+		return enabled || event != null ? new Probe(phase, enabled, event) : null;
+	}
+
+	/**
+	 * Stops timing a phase started by {@link #start(Phase)}
+	 */
+	static void stop(Probe probe) {
+		stop(probe, 0, 0);
+	}
+
+	static void stop(Probe probe, long lines, long candidateMatches) {
+		if (probe == null) {
+			return;
+		}
+
+		if (probe.counted) {
+			long time = System.nanoTime() - probe.start;
+			int i = probe.phase.ordinal();
+			times[i].add(time);
+			counts[i].increment();
+			linesScanned[i].add(lines);
+			candidates[i].add(candidateMatches);
+		}
+		if (probe.event != null) {
+			FLIGHT_RECORDER.commit(probe.event, lines, candidateMatches);
+		}
+	}
+
+	/**
+	 * Moves time spent during a phase being timed to another phase, which is
+	 * counted once
+	 */
+	static void split(Probe probe, Phase phase, long time) {
+		if (probe == null || !probe.counted) {
+			return;
+		}
+
+		probe.start += time;
+		times[phase.ordinal()].add(time);
+		counts[phase.ordinal()].increment();
+	}
+
+	/**
+	 * Total time spent in the phase, in nanoseconds
+	 */
+	public long getTime(Phase phase) {
+		return values.get(phase)[0];
+	}
+
+	/**
+	 * Number of times the phase ran
+	 */
+	public long getCount(Phase phase) {
+		return values.get(phase)[1];
+	}
+
+	public long getLinesScanned(Phase phase) {
+		return values.get(phase)[2];
+	}
+
+	/**
+	 * Number of matches found in the lines, including the ones after the first
+	 * match of a word
+	 */
+	public long getCandidates(Phase phase) {
+		return values.get(phase)[3];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder metrics = new StringBuilder();
+		for (Phase phase : PHASES) {
+			if (metrics.length() > 0) {
+				metrics.append(System.getProperty("line.separator"));
+			}
+			metrics.append(String.format("%s: %.3f ms, count=%d, lines=%d, candidates=%d", phase,
+					getTime(phase) / 1e6, getCount(phase), getLinesScanned(phase), getCandidates(phase)));
+		}
+		return metrics.toString();
+	}
+
+	/**
+	 * Phase being timed
+	 */
+	static final class Probe {
+
+		private final Phase phase;
+		private long start;
+		private final boolean counted; // false if only recorded by the flight recorder
+		private final Object event; // null if the phase is not recorded by the flight recorder
+
+		private Probe(Phase phase, boolean counted, Object event) {
+			this.phase = phase;
+			this.counted = counted;
+			this.event = event;
+			start = System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package com.kata.word.search.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.kata.word.search.exception.InvalidSnapshotException;
+
+/**
+ * Binary file keeping a loaded word search: the grid cells, the words and the
+ * index of its engine, so it can be opened again without parsing and
+ * validating the input file or building the index.
+ *
+ * The header holds a magic number, the format version, the length of the
+ * content and its CRC32 checksum. The content is read through memory mapped
+ * windows, the cells and the index being copied in bulk into their arrays.
+ */
+class Snapshot {
+
+	static final String INVALID_SNAPSHOT_MESSAGE = "The file is not a word search snapshot.";
+	static final String UNSUPPORTED_VERSION_MESSAGE = "The snapshot version %d is not supported.";
+	static final String CORRUPT_SNAPSHOT_MESSAGE = "The snapshot is corrupt or truncated.";
+
+	private static final int MAGIC = 0x57534e50; // "WSNP"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 24; // magic, version, content length and checksum
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final long MAPPED_WINDOW_SIZE = 1 << 30;
+
+	private static final byte NO_ENGINE = 0;
+	private static final byte SUFFIX_ARRAY_ENGINE = 1;
+	private static final byte BIGRAM_ENGINE = 2;
+
+	private Snapshot() {
+	}
+
+	/**
+	 * Writes the words, the grid and the index of the engine, an engine other than
+	 * {@link SuffixArrayIndex} or {@link BigramIndex} is not kept
+	 */
+	static void write(Path path, List<String> words, Grid grid, SearchEngine engine) throws IOException {
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			Writer writer = new Writer(file);
+			writer.putInt(grid.getWidth());
+			writer.putInt(grid.getHeight());
+			writer.putInt(words.size());
+			for (String word : words) {
+				writer.putBytes(word.getBytes(StandardCharsets.ISO_8859_1));
+			}
+			writer.putBytes(grid.getCells());
+
+			if (engine instanceof SuffixArrayIndex) {
+				SuffixArrayIndex index = (SuffixArrayIndex) engine;
+				writer.putByte(SUFFIX_ARRAY_ENGINE);
+				writer.putBytes(index.getText());
+				writer.putInts(index.getSuffixArray());
+				writer.putInts(index.getLineStarts());
+			} else if (engine instanceof BigramIndex) {
+				BigramIndex index = (BigramIndex) engine;
+				writer.putByte(BIGRAM_ENGINE);
+				for (int group = 0; group < index.getBigramStarts().length; group++) {
+					writer.putInts(index.getBigramStarts()[group]);
+					writer.putInts(index.getBigramCells()[group]);
+				}
+			} else {
+				writer.putByte(NO_ENGINE);
+			}
+			writer.finish();
+		}
+	}
+
+	static WordSearch read(Path path) throws IOException, InvalidSnapshotException {
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			if (file.size() < HEADER_SIZE) {
+				throw new InvalidSnapshotException(INVALID_SNAPSHOT_MESSAGE);
+			}
+			while (header.hasRemaining()) {
+				file.read(header, header.position());
+			}
+			header.flip();
+			if (header.getInt() != MAGIC) {
+				throw new InvalidSnapshotException(INVALID_SNAPSHOT_MESSAGE);
+			}
+			int version = header.getInt();
+			if (version != VERSION) {
+				throw new InvalidSnapshotException(String.format(UNSUPPORTED_VERSION_MESSAGE, version));
+			}
+			long length = header.getLong();
+			long checksum = header.getLong();
+			if (length != file.size() - HEADER_SIZE || checksum != checksum(file, length)) {
+				throw new InvalidSnapshotException(CORRUPT_SNAPSHOT_MESSAGE);
+			}
+
+			return readContent(new Reader(file, length));
+		}
+	}
+
+	private static long checksum(FileChannel file, long length) throws IOException {
+		CRC32 crc = new CRC32();
+		for (long position = 0; position < length; position += MAPPED_WINDOW_SIZE) {
+			crc.update(file.map(MapMode.READ_ONLY, HEADER_SIZE + position,
+					Math.min(MAPPED_WINDOW_SIZE, length - position)));
+		}
+		return crc.getValue();
+	}
+
+	private static WordSearch readContent(Reader reader) throws IOException, InvalidSnapshotException {
+		int width = reader.getInt();
+		int height = reader.getInt();
+		int wordsCount = reader.getInt();
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < wordsCount; i++) {
+			words.add(new String(reader.getBytes(), StandardCharsets.ISO_8859_1));
+		}
+		byte[] cells = reader.getBytes();
+		if (width < 0 || height < 0 || (long) width * height != cells.length) {
+			throw new InvalidSnapshotException(CORRUPT_SNAPSHOT_MESSAGE);
+		}
+		Grid grid = new Grid(cells, width, height);
+
+		SearchEngine engine;
+		byte engineType = reader.getByte();
+		if (engineType == SUFFIX_ARRAY_ENGINE) {
+			engine = new SuffixArrayIndex(grid, reader.getBytes(), reader.getInts(), reader.getInts());
+		} else if (engineType == BIGRAM_ENGINE) {
+			int[][] bigramStarts = new int[BigramIndex.DIRECTIONS][];
+			int[][] bigramCells = new int[BigramIndex.DIRECTIONS][];
+			for (int group = 0; group < BigramIndex.DIRECTIONS; group++) {
+				bigramStarts[group] = reader.getInts();
+				bigramCells[group] = reader.getInts();
+			}
+			engine = new BigramIndex(grid, bigramStarts, bigramCells);
+		} else if (engineType == NO_ENGINE) {
+			engine = null;
+		} else {
+			throw new InvalidSnapshotException(CORRUPT_SNAPSHOT_MESSAGE);
+		}
+		return new WordSearch(words, grid, engine);
+	}
+
+	/**
+	 * Writes the content through a buffer after the header, updating its length
+	 * and checksum
+	 */
+	private static class Writer {
+
+		private final FileChannel file;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		private final CRC32 crc = new CRC32();
+		private long length;
+
+		Writer(FileChannel file) throws IOException {
+			this.file = file;
+			file.position(HEADER_SIZE);
+		}
+
+		void putByte(byte value) throws IOException {
+			ensureRemaining(1);
+			buffer.put(value);
+		}
+
+		void putInt(int value) throws IOException {
+			ensureRemaining(4);
+			buffer.putInt(value);
+		}
+
+		/**
+		 * Writes the length of the values followed by the values
+		 */
+		void putBytes(byte[] values) throws IOException {
+			putInt(values.length);
+			for (int from = 0; from < values.length;) {
+				ensureRemaining(1);
+				int count = Math.min(buffer.remaining(), values.length - from);
+				buffer.put(values, from, count);
+				from += count;
+			}
+		}
+
+		void putInts(int[] values) throws IOException {
+			putInt(values.length);
+			for (int from = 0; from < values.length;) {
+				ensureRemaining(4);
+				int count = Math.min(buffer.remaining() / 4, values.length - from);
+				buffer.asIntBuffer().put(values, from, count);
+				buffer.position(buffer.position() + count * 4);
+				from += count;
+			}
+		}
+
+		private void ensureRemaining(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			crc.update(buffer.duplicate());
+			length += buffer.remaining();
+			while (buffer.hasRemaining()) {
+				file.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		/**
+		 * Writes the header once the whole content is written
+		 */
+		void finish() throws IOException {
+			flush();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putLong(length).putLong(crc.getValue()).flip();
+			while (header.hasRemaining()) {
+				file.write(header, header.position());
+			}
+		}
+	}
+
+	/**
+	 * Reads the content through memory mapped windows
+	 */
+	private static class Reader {
+
+		private final FileChannel file;
+		private final long length;
+		private long windowPosition; // position of the window in the content
+		private ByteBuffer window;
+
+		Reader(FileChannel file, long length) {
+			this.file = file;
+			this.length = length;
+			window = ByteBuffer.allocate(0);
+		}
+
+		byte getByte() throws IOException, InvalidSnapshotException {
+			ensureRemaining(1);
+			return window.get();
+		}
+
+		int getInt() throws IOException, InvalidSnapshotException {
+			ensureRemaining(4);
+			return window.getInt();
+		}
+
+		byte[] getBytes() throws IOException, InvalidSnapshotException {
+			byte[] values = new byte[getLength(1)];
+			for (int from = 0; from < values.length;) {
+				ensureRemaining(1);
+				int count = Math.min(window.remaining(), values.length - from);
+				window.get(values, from, count);
+				from += count;
+			}
+			return values;
+		}
+
+		int[] getInts() throws IOException, InvalidSnapshotException {
+			int[] values = new int[getLength(4)];
+			for (int from = 0; from < values.length;) {
+				ensureRemaining(4);
+				int count = Math.min(window.remaining() / 4, values.length - from);
+				IntBuffer ints = window.asIntBuffer();
+				ints.get(values, from, count);
+				window.position(window.position() + count * 4);
+				from += count;
+			}
+			return values;
+		}
+
+		/**
+		 * Reads a number of values, checking they fit in the rest of the content
+		 */
+		private int getLength(int valueSize) throws IOException, InvalidSnapshotException {
+			int count = getInt();
+			if (count < 0 || (long) count * valueSize > length - windowPosition - window.position()) {
+				throw new InvalidSnapshotException(CORRUPT_SNAPSHOT_MESSAGE);
+			}
+			return count;
+		}
+
+		/**
+		 * Maps the next window if less than the given bytes remain in the current one
+		 */
+		private void ensureRemaining(int bytes) throws IOException, InvalidSnapshotException {
+			if (window.remaining() >= bytes) {
+				return;
+			}
+			long position = windowPosition + window.position();
+			if (length - position < bytes) {
+				throw new InvalidSnapshotException(CORRUPT_SNAPSHOT_MESSAGE);
+			}
+			window = file.map(MapMode.READ_ONLY, HEADER_SIZE + position, Math.min(MAPPED_WINDOW_SIZE, length - position));
+			windowPosition = position;
+		}
+	}
+}
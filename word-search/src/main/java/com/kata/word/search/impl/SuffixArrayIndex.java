@@ -0,0 +1,292 @@
+package com.kata.word.search.impl;
+
+import java.util.Arrays;
+
+/**
+ * Suffix array over all the lines of a grid, concatenated in the order they are
+ * searched and separated by a letter that can't be part of a word. A word and
+ * its reversed form are found by binary search, in time proportional to the
+ * length of the word times the log of the number of cells, whatever the number
+ * of occurrences.
+ *
+ * Since the lines are concatenated in search order, the smallest position of an
+ * occurrence is the first match of the line by line search. It is read from a
+ * sparse table of the smallest position in each range of blocks of the suffix
+ * array, only the ends of the range being scanned suffix by suffix.
+ */
+public class SuffixArrayIndex implements SearchEngine {
+
+	private static final byte SEPARATOR = 0;
+	private static final int BLOCK_SIZE = 64;
+
+	private final Grid grid;
+	private final byte[] text; // letters as 1 to 26, lines separated by SEPARATOR
+	private final int[] suffixArray;
+	private final int[] lineStarts; // position in the text of the first letter of each line
+	private final int[][] blockMinimums; // [k][b]: smallest position in the 2^k blocks of suffixes from block b
+	private final long buildTime;
+
+	public SuffixArrayIndex(Grid grid) {
+		long start = System.nanoTime();
+		this.grid = grid;
+
+		int linesCount = grid.getLinesCount();
+		long length = linesCount + 4L * grid.getWidth() * grid.getHeight();
+		if (length > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("The grid is too large to be indexed");
+		}
+		text = new byte[(int) length];
+		lineStarts = new int[linesCount];
+		int position = 0;
+		for (int lineNumber = 0; lineNumber < linesCount; lineNumber++) {
+			GridLine line = grid.getLine(lineNumber);
+			lineStarts[lineNumber] = position;
+			for (int index = 0; index < line.length(); index++) {
+				text[position++] = (byte) (line.charAt(index) - 'A' + 1);
+			}
+			text[position++] = SEPARATOR;
+		}
+
+		suffixArray = buildSuffixArray(text);
+		blockMinimums = buildBlockMinimums(suffixArray);
+		buildTime = System.nanoTime() - start;
+	}
+
+	/**
+	 * Index read from a {@link Snapshot}, its build time is 0
+	 */
+	SuffixArrayIndex(Grid grid, byte[] text, int[] suffixArray, int[] lineStarts) {
+		this.grid = grid;
+		this.text = text;
+		this.suffixArray = suffixArray;
+		this.lineStarts = lineStarts;
+		blockMinimums = buildBlockMinimums(suffixArray);
+		buildTime = 0;
+	}
+
+	/**
+	 * Prefix doubling: suffixes are sorted by their first k letters, then by their
+	 * first 2k letters using the ranks of the previous round, with two counting
+	 * sorts per round
+	 */
+	private static int[] buildSuffixArray(byte[] text) {
+		int length = text.length;
+		int[] suffixes = new int[length];
+		int[] rank = new int[length];
+		int[] buffer = new int[length];
+		int[] counts = new int[Math.max(length, 27) + 1];
+
+		for (int i = 0; i < length; i++) {
+			rank[i] = text[i];
+			counts[rank[i] + 1]++;
+		}
+		sortByRank(rank, identity(buffer), suffixes, counts, 27);
+
+		for (int k = 1;; k <<= 1) {
+			// Order by second half: suffixes shorter than k first, then the sorted suffixes
+			int sorted = 0;
+			for (int i = length - k; i < length; i++) {
+				buffer[sorted++] = i;
+			}
+			for (int suffix : suffixes) {
+				if (suffix >= k) {
+					buffer[sorted++] = suffix - k;
+				}
+			}
+
+			// Stable sort by first half
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < length; i++) {
+				counts[rank[i] + 1]++;
+			}
+			sortByRank(rank, buffer, suffixes, counts, length);
+
+			// Ranks of the first 2k letters
+			buffer[suffixes[0]] = 0;
+			for (int i = 1; i < length; i++) {
+				int current = suffixes[i];
+				int previous = suffixes[i - 1];
+				boolean equal = rank[current] == rank[previous] && secondRank(rank, current, k) == secondRank(rank, previous, k);
+				buffer[current] = buffer[previous] + (equal ? 0 : 1);
+			}
+			int[] ranks = buffer;
+			buffer = rank;
+			rank = ranks;
+
+			if (rank[suffixes[length - 1]] == length - 1) {
+				return suffixes;
+			}
+		}
+	}
+
+	private static int[][] buildBlockMinimums(int[] suffixArray) {
+		int blocks = (suffixArray.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int[][] minimums = new int[32 - Integer.numberOfLeadingZeros(Math.max(blocks, 1))][];
+		minimums[0] = new int[blocks];
+		Arrays.fill(minimums[0], Integer.MAX_VALUE);
+		for (int i = 0; i < suffixArray.length; i++) {
+			minimums[0][i / BLOCK_SIZE] = Math.min(minimums[0][i / BLOCK_SIZE], suffixArray[i]);
+		}
+		for (int k = 1; k < minimums.length; k++) {
+			int half = 1 << (k - 1);
+			minimums[k] = new int[blocks - (1 << k) + 1];
+			for (int block = 0; block < minimums[k].length; block++) {
+				minimums[k][block] = Math.min(minimums[k - 1][block], minimums[k - 1][block + half]);
+			}
+		}
+		return minimums;
+	}
+
+	private static int secondRank(int[] rank, int suffix, int k) {
+		return suffix + k < rank.length ? rank[suffix + k] : -1;
+	}
+
+	private static int[] identity(int[] values) {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		return values;
+	}
+
+	/**
+	 * Counting sort of the suffixes in the given order by their rank, the counts of
+	 * each rank being shifted by one
+	 */
+	private static void sortByRank(int[] rank, int[] order, int[] sorted, int[] counts, int ranks) {
+		for (int i = 1; i <= ranks; i++) {
+			counts[i] += counts[i - 1];
+		}
+		for (int suffix : order) {
+			sorted[counts[rank[suffix]]++] = suffix;
+		}
+	}
+
+	@Override
+	public Grid getGrid() {
+		return grid;
+	}
+
+	byte[] getText() {
+		return text;
+	}
+
+	int[] getSuffixArray() {
+		return suffixArray;
+	}
+
+	int[] getLineStarts() {
+		return lineStarts;
+	}
+
+	/**
+	 * Time taken to build the index, in nanoseconds
+	 */
+	public long getBuildTime() {
+		return buildTime;
+	}
+
+	/**
+	 * Approximate size of the index in memory, in bytes
+	 */
+	public long getMemoryBytes() {
+		long bytes = text.length + 4L * suffixArray.length + 4L * lineStarts.length;
+		for (int[] minimums : blockMinimums) {
+			bytes += 4L * minimums.length;
+		}
+		return bytes;
+	}
+
+	@Override
+	public long findMatch(String word) {
+		if (word.isEmpty() || !word.chars().allMatch(letter -> letter >= 'A' && letter <= 'Z')) {
+			// Other characters would be read as the separator or as letters
+			return Match.NOT_FOUND;
+		}
+
+		int forward = findFirstPosition(word);
+		int backward = findFirstPosition(new StringBuilder(word).reverse().toString());
+		if (forward == -1 && backward == -1) {
+			return Match.NOT_FOUND;
+		}
+
+		// Forward match takes precedence within a line
+		int forwardLine = forward == -1 ? Integer.MAX_VALUE : lineOf(forward);
+		int backwardLine = backward == -1 ? Integer.MAX_VALUE : lineOf(backward);
+		if (forwardLine <= backwardLine) {
+			return grid.locate(forwardLine, forward - lineStarts[forwardLine], word.length(), false);
+		}
+		return grid.locate(backwardLine, backward - lineStarts[backwardLine], word.length(), true);
+	}
+
+	/**
+	 * Smallest position of the word in the text, -1 if it doesn't occur
+	 */
+	private int findFirstPosition(String word) {
+		int from = lowerBound(word, false);
+		int to = lowerBound(word, true);
+		if (from == to) {
+			return -1;
+		}
+
+		int firstBlock = (from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int lastBlock = to / BLOCK_SIZE; // excluded
+		if (firstBlock >= lastBlock) {
+			return scanMinimum(from, to);
+		}
+		int k = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock);
+		int first = Math.min(blockMinimums[k][firstBlock], blockMinimums[k][lastBlock - (1 << k)]);
+		first = Math.min(first, scanMinimum(from, firstBlock * BLOCK_SIZE));
+		return Math.min(first, scanMinimum(lastBlock * BLOCK_SIZE, to));
+	}
+
+	/**
+	 * Smallest position of the suffixes in the range, Integer.MAX_VALUE if empty
+	 */
+	private int scanMinimum(int from, int to) {
+		int first = Integer.MAX_VALUE;
+		for (int i = from; i < to; i++) {
+			first = Math.min(first, suffixArray[i]);
+		}
+		return first;
+	}
+
+	/**
+	 * First suffix not smaller than the word, or the first suffix greater than all
+	 * the suffixes starting with the word
+	 */
+	private int lowerBound(String word, boolean afterPrefix) {
+		int low = 0;
+		int high = suffixArray.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compare(suffixArray[middle], word);
+			if (comparison < 0 || (afterPrefix && comparison == 0)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Compares the suffix with the word, 0 if the suffix starts with the word
+	 */
+	private int compare(int suffix, String word) {
+		for (int i = 0; i < word.length(); i++) {
+			if (suffix + i == text.length) {
+				return -1;
+			}
+			int difference = text[suffix + i] - (word.charAt(i) - 'A' + 1);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return 0;
+	}
+
+	private int lineOf(int position) {
+		int line = Arrays.binarySearch(lineStarts, position);
+		return line >= 0 ? line : -line - 2;
+	}
+}
@@ -0,0 +1,161 @@
+package com.kata.word.search.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.exception.WordNotFoundException;
+
+/**
+ * Searches a grid that doesn't fit in memory, one square tile at a time. Only
+ * the position of each row in the file is kept, the letters of a tile are read
+ * from the file when the tile is searched. Tiles overlap by the length of the
+ * longest word minus one, so a word crossing the border of a tile is fully
+ * contained in the tile its top left letter belongs to.
+ *
+ * The words keep the location {@link WordSearch} would find, with coordinates
+ * relative to the whole grid.
+ */
+public class TiledWordSearch {
+
+	private final Path path;
+	private final List<String> words;
+	private final long[] rowPositions;
+	private final int gridSize;
+	private final int tileSize;
+	private final int overlap;
+	private volatile List<Word> foundWords; // set once all the words are found
+
+	public TiledWordSearch(Path path, int tileSize) throws IOException, InvalidWordException, InvalidGridException {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("The tile size must be positive");
+		}
+
+		try (GridParser parser = GridParser.open(path)) {
+			words = Collections.unmodifiableList(parser.readWords());
+			rowPositions = parser.readRowPositions();
+		}
+		this.path = path;
+		this.tileSize = tileSize;
+		gridSize = rowPositions.length;
+		overlap = words.stream().mapToInt(String::length).max().orElse(1) - 1;
+	}
+
+	public int getGridSize() {
+		return gridSize;
+	}
+
+	public List<Word> getWords() throws IOException, WordNotFoundException {
+		List<Word> found = foundWords;
+		if (found == null) {
+			found = toWords(locateWords());
+			foundWords = found;
+		}
+		return found;
+	}
+
+	private long[] locateWords() throws IOException {
+		WordMatcher matcher = new WordMatcher(words);
+		int[] lengths = words.stream().mapToInt(String::length).toArray();
+		long[] matches = new long[words.size()];
+		long[] searchOrders = new long[words.size()];
+		Arrays.fill(matches, Match.NOT_FOUND);
+		Arrays.fill(searchOrders, Long.MAX_VALUE);
+
+		int maxTileSize = (int) Math.min(gridSize, (long) tileSize + overlap);
+		ByteBuffer row = ByteBuffer.allocate(maxTileSize * 2 - 1);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for (int tileY = 0; tileY < gridSize; tileY += tileSize) {
+				for (int tileX = 0; tileX < gridSize; tileX += tileSize) {
+					Grid tile = readTile(channel, row, tileX, tileY);
+					searchTile(matcher, tile, tileX, tileY, lengths, matches, searchOrders);
+				}
+			}
+		}
+		return matches;
+	}
+
+	private Grid readTile(FileChannel channel, ByteBuffer row, int tileX, int tileY) throws IOException {
+		int width = (int) Math.min(gridSize - tileX, (long) tileSize + overlap);
+		int height = (int) Math.min(gridSize - tileY, (long) tileSize + overlap);
+		byte[] cells = new byte[width * height];
+		for (int y = 0; y < height; y++) {
+			// Letters are separated by commas, the letter of column x is 2 * x bytes
+			// after the start of the row
+			long position = rowPositions[tileY + y] + 2L * tileX;
+			row.clear().limit(width * 2 - 1);
+			while (row.hasRemaining()) {
+				if (channel.read(row, position + row.position()) < 0) {
+					throw new EOFException("The grid file was truncated");
+				}
+			}
+			for (int x = 0; x < width; x++) {
+				cells[y * width + x] = row.get(x * 2);
+			}
+		}
+		return new Grid(cells, width, height);
+	}
+
+	/**
+	 * Scans every line of the tile, each word keeping the match that comes first
+	 * in the order the whole grid is searched
+	 */
+	private void searchTile(WordMatcher matcher, Grid tile, int tileX, int tileY, int[] lengths, long[] matches,
+			long[] searchOrders) {
+		List<List<GridLine>> lines = Arrays.asList(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+				new ArrayList<>());
+		for (int i = 0; i < tile.getHeight(); i++) {
+			lines.get(0).add(tile.getRow(i));
+		}
+		for (int i = 0; i < tile.getWidth(); i++) {
+			lines.get(1).add(tile.getColumn(i));
+		}
+		for (int i = 0; i < tile.getDiagonalsCount(); i++) {
+			lines.get(2).add(tile.getDiagonalAscending(i));
+			lines.get(3).add(tile.getDiagonalDescending(i));
+		}
+
+		for (int group = 0; group < lines.size(); group++) {
+			Direction forward = Direction.valueOf(group * 2);
+			for (GridLine line : lines.get(group)) {
+				matcher.scan(line, (wordIndex, backwards, index) -> {
+					int length = lengths[wordIndex];
+					// The word starts on its first letter, which is the last one of the reversed word
+					int offset = line.getOffset(backwards ? index + length - 1 : index);
+					long match = Match.of(tileX + tile.getX(offset), tileY + tile.getY(offset),
+							backwards ? forward.reverse() : forward, length);
+					long searchOrder = Match.getSearchOrder(match, gridSize);
+					if (searchOrder < searchOrders[wordIndex]) {
+						searchOrders[wordIndex] = searchOrder;
+						matches[wordIndex] = match;
+					}
+				});
+			}
+		}
+	}
+
+	private List<Word> toWords(long[] matches) throws WordNotFoundException {
+		List<Word> located = new ArrayList<>(words.size());
+		for (int i = 0; i < words.size(); i++) {
+			if (matches[i] == Match.NOT_FOUND) {
+				throw new WordNotFoundException(String.format("Word [%s] was not found in the grid", words.get(i)));
+			}
+			located.add(new Word(words.get(i), matches[i]));
+		}
+		return Collections.unmodifiableList(located);
+	}
+
+	public String print() throws IOException, WordNotFoundException {
+		return getWords().stream().map(Word::toString).collect(Collectors.joining(System.getProperty("line.separator")));
+	}
+}
@@ -1,32 +1,41 @@
 package com.kata.word.search.impl;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
-public class Word {
+/**
+ * Immutable result of a search, a word and its location in the grid.
+ */
+public final class Word {
 
-	private String word;
-	private Set<Coordinates> location;
+	private final String word;
+	private final long match;
 
-	public Word(String word) {
+	public Word(String word, long match) {
 		this.word = word;
+		this.match = match;
 	}
 
 	public String getWord() {
 		return word;
 	}
 
-	public void setLocation(Set<Coordinates> location) {
-		this.location = location;
+	/**
+	 * Packed location of the word, {@link Match#NOT_FOUND} if it wasn't found
+	 */
+	public long getMatch() {
+		return match;
 	}
 
+	/**
+	 * Creates the coordinates of each letter of the word, null if it wasn't found
+	 */
 	public Set<Coordinates> getLocation() {
-		return location;
+		return match == Match.NOT_FOUND ? null : Match.toCoordinates(match);
 	}
 
 	@Override
 	public String toString() {
-		return String.format("%s: %s", word,
-				location.stream().map(Coordinates::toString).collect(Collectors.joining(",")));
+		StringBuilder builder = new StringBuilder(word.length() * 8 + 2).append(word).append(": ");
+		return match == Match.NOT_FOUND ? builder.append("null").toString() : Match.appendTo(builder, match).toString();
 	}
 }
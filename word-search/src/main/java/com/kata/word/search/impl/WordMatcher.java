@@ -0,0 +1,140 @@
+package com.kata.word.search.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton built from a list of words and their reversed forms.
+ * A single pass over a list of letters reports every occurrence of every word,
+ * forwards and backwards, so the cost of a scan does not depend on the number
+ * of words.
+ */
+public class WordMatcher {
+
+	private static final int ALPHABET_SIZE = 26;
+
+	private final int wordsCount;
+	private final int[] transitions; // complete goto function, ALPHABET_SIZE entries per state
+	private final int[] output; // pattern ending in the state, -1 if none
+	private final int[] outputLink; // next state on the failure chain that has an output, 0 if none
+	private final int[] patternLength;
+	private final int[][] patternTargets; // word index * 2 + (1 if backwards), for each pattern
+
+	public WordMatcher(List<String> words) {
+		wordsCount = words.size();
+
+		Map<String, Integer> patterns = new HashMap<>();
+		Map<Integer, int[]> targets = new HashMap<>();
+		int maxStates = 1;
+		for (int index = 0; index < words.size(); index++) {
+			String word = words.get(index);
+			maxStates += word.length() * 2;
+			addTarget(patterns, targets, word, index * 2);
+			addTarget(patterns, targets, new StringBuilder(word).reverse().toString(), index * 2 + 1);
+		}
+
+		int[] trie = new int[maxStates * ALPHABET_SIZE];
+		int[] terminal = new int[maxStates];
+		Arrays.fill(terminal, -1);
+		patternLength = new int[patterns.size()];
+		patternTargets = new int[patterns.size()][];
+		int states = 1;
+		for (Map.Entry<String, Integer> pattern : patterns.entrySet()) {
+			String letters = pattern.getKey();
+			int state = 0;
+			for (int i = 0; i < letters.length(); i++) {
+				int letter = letterIndex(letters.charAt(i));
+				if (letter < 0 || letter >= ALPHABET_SIZE) {
+					throw new IllegalArgumentException("Words should contain only upper case letters");
+				}
+				if (trie[state * ALPHABET_SIZE + letter] == 0) {
+					trie[state * ALPHABET_SIZE + letter] = states++;
+				}
+				state = trie[state * ALPHABET_SIZE + letter];
+			}
+			terminal[state] = pattern.getValue();
+			patternLength[pattern.getValue()] = letters.length();
+			patternTargets[pattern.getValue()] = targets.get(pattern.getValue());
+		}
+
+		transitions = Arrays.copyOf(trie, states * ALPHABET_SIZE);
+		output = Arrays.copyOf(terminal, states);
+		outputLink = new int[states];
+		buildFailureLinks(states);
+	}
+
+	private static void addTarget(Map<String, Integer> patterns, Map<Integer, int[]> targets, String pattern,
+			int target) {
+		// Palindromes and repeated words share the same pattern
+		Integer id = patterns.computeIfAbsent(pattern, p -> patterns.size());
+		int[] current = targets.getOrDefault(id, new int[0]);
+		int[] updated = Arrays.copyOf(current, current.length + 1);
+		updated[current.length] = target;
+		targets.put(id, updated);
+	}
+
+	/**
+	 * Turns the trie into a complete automaton, breadth first, so that a scan
+	 * never has to follow failure links
+	 */
+	private void buildFailureLinks(int states) {
+		int[] failure = new int[states];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+			int child = transitions[letter];
+			if (child != 0) {
+				queue.add(child);
+			}
+		}
+
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			int fallback = failure[state];
+			outputLink[state] = output[fallback] >= 0 ? fallback : outputLink[fallback];
+			for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+				int child = transitions[state * ALPHABET_SIZE + letter];
+				if (child != 0) {
+					failure[child] = transitions[fallback * ALPHABET_SIZE + letter];
+					queue.add(child);
+				} else {
+					transitions[state * ALPHABET_SIZE + letter] = transitions[fallback * ALPHABET_SIZE + letter];
+				}
+			}
+		}
+	}
+
+	public int getWordsCount() {
+		return wordsCount;
+	}
+
+	/**
+	 * Reports every occurrence of every word in the list of letters. Backward
+	 * occurrences are reported with the index of the reversed word in the letters.
+	 */
+	public void scan(CharSequence letters, MatchListener listener) {
+		int state = 0;
+		for (int position = 0; position < letters.length(); position++) {
+			int letter = letterIndex(letters.charAt(position));
+			if (letter < 0 || letter >= ALPHABET_SIZE) {
+				state = 0;
+				continue;
+			}
+			state = transitions[state * ALPHABET_SIZE + letter];
+			for (int match = output[state] >= 0 ? state : outputLink[state]; match != 0; match = outputLink[match]) {
+				int pattern = output[match];
+				int index = position - patternLength[pattern] + 1;
+				for (int target : patternTargets[pattern]) {
+					listener.onMatch(target >> 1, (target & 1) == 1, index);
+				}
+			}
+		}
+	}
+
+	private static int letterIndex(char letter) {
+		return letter - 'A';
+	}
+}
@@ -1,306 +1,773 @@
 package com.kata.word.search.impl;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.TreeSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidSnapshotException;
 import com.kata.word.search.exception.InvalidWordException;
 import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.SearchMetrics.Phase;
 
+/**
+ * Immutable once loaded, a single instance can be searched by concurrent
+ * threads.
+ */
 public class WordSearch {
 
-	private List<Word> words;
-	private List<String> rows;
-	private List<String> columns;
-	private List<String> diagonalAscending; // moving diagonally ascending from left bottom to right up corner
-	private List<String> diagonalDescending; // moving diagonally descending from left top to right bottom corner
-	private int gridSize;
-	private boolean wordsFound;
+	private final List<String> words;
+	private final Grid grid;
+	private final List<GridLine> rows;
+	private final List<GridLine> columns;
+	private final List<GridLine> diagonalAscending; // moving diagonally ascending from left bottom to right up corner
+	private final List<GridLine> diagonalDescending; // moving diagonally descending from left top to right bottom corner
+	private final int gridSize;
+	private final SearchEngine engine; // null to search the lines one by one
+	private volatile List<Word> foundWords; // set once all the words are found
+	private volatile GridFilter filter; // set on first use
+	private volatile CompiledWordList compiledWords; // set on first use, or shared with the grids searched for the same words
 
-	private final CoordinatesGenerator coordinatesGeneratorHorizontallyForwards = (a, i, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int x = 0; x < l; x++) {
-			coordinates.add(new Coordinates(x + i, a, x));
-		}
-		return coordinates;
-	};
+	private static final int MIN_LINES_PER_TASK = 8;
 
-	private final CoordinatesGenerator coordinatesGeneratorHorizontallyBackwards = (a, i, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int x = 0; x < l; x++) {
-			coordinates.add(new Coordinates(l - x - 1 + i, a, x));
-		}
-		return coordinates;
-	};
+	/**
+	 * Packs the location of a word found at the given index of a line
+	 */
+	@FunctionalInterface
+	private interface LineLocator {
+		long locate(int lineNumber, int index, int length, boolean backwards);
+	}
 
-	private final CoordinatesGenerator coordinatesGeneratorVerticallyForwards = (a, i, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int y = 0; y < l; y++) {
-			coordinates.add(new Coordinates(a, y + i, y));
-		}
-		return coordinates;
-	};
+	private final CoordinatesGenerator coordinatesGeneratorHorizontallyForwards = (a, i, l) -> Match.of(i, a,
+			Direction.HORIZONTALLY_FORWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorHorizontallyBackwards = (a, i, l) -> Match.of(l - 1 + i, a,
+			Direction.HORIZONTALLY_BACKWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorVerticallyForwards = (a, i, l) -> Match.of(a, i,
+			Direction.VERTICALLY_FORWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorVerticallyBackwards = (a, i, l) -> Match.of(a, l - 1 + i,
+			Direction.VERTICALLY_BACKWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorDiagonallyAscendingForwards = (x, y, l) -> Match.of(x, y,
+			Direction.DIAGONALLY_ASCENDING_FORWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorDiagonallyAscendingBackwards = (x, y, l) -> Match.of(x, y,
+			Direction.DIAGONALLY_ASCENDING_BACKWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorDiagonallyDescendingForwards = (x, y, l) -> Match.of(x, y,
+			Direction.DIAGONALLY_DESCENDING_FORWARDS, l);
+
+	private final CoordinatesGenerator coordinatesGeneratorDiagonallyDescendingBackwards = (x, y, l) -> Match.of(x, y,
+			Direction.DIAGONALLY_DESCENDING_BACKWARDS, l);
+
+	public WordSearch(Path path) throws IOException, InvalidWordException, InvalidGridException {
+		this(GridParser.read(path));
+	}
+
+	/**
+	 * Reads the words and the grid from a stream in the same format as the input
+	 * file, the stream is not closed
+	 */
+	public WordSearch(InputStream input) throws IOException, InvalidWordException, InvalidGridException {
+		this(GridParser.read(input));
+	}
+
+	/**
+	 * Reads the grid of the file and searches it for the compiled words, the first
+	 * line of the file is skipped without parsing its words
+	 */
+	public WordSearch(Path path, CompiledWordList words) throws IOException, InvalidGridException {
+		this(words.getWords(), words, GridParser.readGrid(path), null);
+	}
+
+	private WordSearch(GridParser.Puzzle puzzle) {
+		this(puzzle.getWords(), puzzle.getGrid());
+	}
+
+	WordSearch(List<String> words, Grid grid) {
+		this(words, grid, null);
+	}
+
+	WordSearch(List<String> words, Grid grid, SearchEngine engine) {
+		this(Collections.unmodifiableList(new ArrayList<>(words)), null, grid, engine);
+	}
+
+	private WordSearch(List<String> words, CompiledWordList compiledWords, Grid grid, SearchEngine engine) {
+		this.words = words;
+		this.compiledWords = compiledWords;
+		this.grid = grid;
+		this.engine = engine;
+		gridSize = grid.getWidth();
+
+		// The view over a line is created when the line is read
+		rows = new LineViews(grid::getRow, gridSize);
+		columns = new LineViews(grid::getColumn, gridSize);
+		diagonalAscending = new LineViews(grid::getDiagonalAscending, grid.getDiagonalsCount());
+		diagonalDescending = new LineViews(grid::getDiagonalDescending, grid.getDiagonalsCount());
+	}
+
+	private WordSearch(List<String> words, CompiledWordList compiledWords, WordSearch source, SearchEngine engine) {
+		this.words = words;
+		this.compiledWords = compiledWords;
+		this.engine = engine;
+		grid = source.grid;
+		gridSize = source.gridSize;
+		rows = source.rows;
+		columns = source.columns;
+		diagonalAscending = source.diagonalAscending;
+		diagonalDescending = source.diagonalDescending;
+		filter = source.filter;
+	}
+
+	/**
+	 * Searches the same grid for other words, the grid is shared and not processed
+	 * again
+	 * 
+	 * @param firstLine words separated by comma, in the format of the first line
+	 *                  of the input file
+	 */
+	public WordSearch withWords(String firstLine) throws InvalidWordException {
+		return new WordSearch(Collections.unmodifiableList(GridParser.parseWords(firstLine)), null, this, engine);
+	}
 
-	private final CoordinatesGenerator coordinatesGeneratorVerticallyBackwards = (a, i, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int y = 0; y < l; y++) {
-			coordinates.add(new Coordinates(a, l - 1 - y + i, y));
+	/**
+	 * Searches the same grid for the compiled words, neither the grid nor the
+	 * words are processed again
+	 */
+	public WordSearch withWords(CompiledWordList words) {
+		return new WordSearch(words.getWords(), words, this, engine);
+	}
+
+	/**
+	 * Searches the same grid and words, single words being found by the engine
+	 * instead of searching the lines one by one, see
+	 * {@link #findMatchForWord(String)}
+	 * 
+	 * @param engine built on the grid of this word search
+	 */
+	public WordSearch withEngine(SearchEngine engine) {
+		if (engine.getGrid() != grid) {
+			throw new IllegalArgumentException("The engine must be built on the grid of this word search");
 		}
-		return coordinates;
-	};
+		return new WordSearch(words, compiledWords, this, engine);
+	}
+
+	public Grid getGrid() {
+		return grid;
+	}
 
-	private final CoordinatesGenerator coordinatesGeneratorDiagonallyAscendingForwards = (x, y, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int i = 0; i < l; i++) {
-			coordinates.add(new Coordinates(x + i, y + i, i));
+	/**
+	 * Copy of the grid and words that can be edited one cell at a time, this word
+	 * search is not changed
+	 */
+	public EditableWordSearch edit() {
+		return new EditableWordSearch(words, grid);
+	}
+
+	/**
+	 * Saves the words, the grid and the index of the engine in a binary file that
+	 * opens without parsing the input or building the index again, see
+	 * {@link #openSnapshot(Path)}
+	 */
+	public void saveSnapshot(Path path) throws IOException {
+		Snapshot.write(path, words, grid, engine);
+	}
+
+	/**
+	 * Opens a file saved by {@link #saveSnapshot(Path)}, the snapshot is rejected
+	 * if its version is not supported or its checksum doesn't match
+	 */
+	public static WordSearch openSnapshot(Path path) throws IOException, InvalidSnapshotException {
+		return Snapshot.read(path);
+	}
+
+	public int getGridSize() {
+		return gridSize;
+	}
+
+	/**
+	 * Words read from the input, in order, that can't be changed
+	 */
+	public List<String> getWordsToFind() {
+		return words;
+	}
+
+	/**
+	 * Lines of a direction, the view over a line is only created when the line is
+	 * read, so nothing is built for the lines and directions that are never
+	 * searched
+	 */
+	private static final class LineViews extends AbstractList<GridLine> implements RandomAccess {
+
+		private final IntFunction<GridLine> line;
+		private final int size;
+
+		LineViews(IntFunction<GridLine> line, int size) {
+			this.line = line;
+			this.size = size;
 		}
-		return coordinates;
-	};
 
-	private final CoordinatesGenerator coordinatesGeneratorDiagonallyAscendingBackwards = (x, y, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int i = 0; i < l; i++) {
-			coordinates.add(new Coordinates(x - i, y - i, i));
+		@Override
+		public GridLine get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index " + index + " is out of the " + size + " lines");
+			}
+			return line.apply(index);
 		}
-		return coordinates;
-	};
 
-	private final CoordinatesGenerator coordinatesGeneratorDiagonallyDescendingForwards = (x, y, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int i = 0; i < l; i++) {
-			coordinates.add(new Coordinates(x + i, y - i, i));
+		@Override
+		public int size() {
+			return size;
 		}
-		return coordinates;
-	};
+	}
 
-	private final CoordinatesGenerator coordinatesGeneratorDiagonallyDescendingBackwards = (x, y, l) -> {
-		Set<Coordinates> coordinates = new TreeSet<>();
-		for (int i = 0; i < l; i++) {
-			coordinates.add(new Coordinates(x - i, y + i, i));
+	public List<Word> getWords() throws WordNotFoundException {
+		List<Word> found = foundWords;
+		if (found == null) {
+			found = toWords(locateWords(getCompiledWords()));
+			foundWords = found;
 		}
-		return coordinates;
-	};
+		return found;
+	}
 
-	public WordSearch(Path path) throws IOException, InvalidWordException, InvalidGridException {
-		words = new ArrayList<>();
-		rows = new ArrayList<>();
-		columns = new ArrayList<>();
-		diagonalAscending = new ArrayList<>();
-		diagonalDescending = new ArrayList<>();
-		gridSize = -1;
-		List<String> lines = Files.readAllLines(path);
+	/**
+	 * Same as {@link #getWords()}, the list of words being split in one chunk per
+	 * core and each chunk searched on the executor
+	 */
+	public List<Word> getWords(Executor executor) throws WordNotFoundException {
+		List<Word> found = foundWords;
+		if (found == null) {
+			int chunks = Math.max(1, Math.min(words.size(), Runtime.getRuntime().availableProcessors()));
+			List<CompletableFuture<long[]>> locations = new ArrayList<>();
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				List<String> chunkWords = words.subList(chunk * words.size() / chunks,
+						(chunk + 1) * words.size() / chunks);
+				locations.add(CompletableFuture.supplyAsync(() -> locateWords(new CompiledWordList(chunkWords)), executor));
+			}
 
-		processListOfWords(lines.get(0));
-		processGrid(lines);
+			long[] matches = new long[words.size()];
+			int index = 0;
+			for (CompletableFuture<long[]> chunkLocations : locations) {
+				for (long match : chunkLocations.join()) {
+					matches[index++] = match;
+				}
+			}
+			found = toWords(matches);
+			foundWords = found;
+		}
+		return found;
 	}
 
-	private void processListOfWords(String firstLine) throws InvalidWordException {
-		// First line should contain all the words
-		if(!firstLine.matches("^[A-Z]{2,}(,[A-Z]{2,})*")) {
-			throw new InvalidWordException("The words should be at least 2 letters long, only upercase letters and separated by comma.");
+	/**
+	 * Same as {@link #getWords()} without throwing, the words that are not in the
+	 * grid being {@link Match#NOT_FOUND}. Once the words are compiled, the words
+	 * are located with their automaton, shared by the grids searched with the same
+	 * {@link CompiledWordList}, instead of filtering them first.
+	 */
+	public List<Word> findWords() {
+		CompiledWordList compiled = compiledWords;
+		if (engine != null || compiled == null) {
+			return findWords(words);
 		}
-		
-		for (String word : firstLine.split(",")) {
-			words.add(new Word(word));
+
+		long[] matches = locateWords(compiled);
+		List<Word> located = new ArrayList<>(words.size());
+		for (int i = 0; i < words.size(); i++) {
+			located.add(new Word(words.get(i), matches[i]));
 		}
+		return Collections.unmodifiableList(located);
 	}
 
-	private void processGrid(List<String> lines) throws InvalidGridException {
-
-		List<StringBuilder> builderColumns = Stream.generate(StringBuilder::new).limit(lines.size() - 1)
-				.collect(Collectors.toList());
-		for (int i = 1; i < lines.size(); i++) {
-			String row = lines.get(i);
-
-			if (!row.matches("^[A-Z]{1}(,[A-Z])+")) {
-				throw new InvalidGridException("The grid should contain only upper case letters separated by comma.");
-			}
-			row = row.replace(",", "");
-
-			if (gridSize == -1) {
-				// Assumes first row length (number of columns) should be the grid size, meaning
-				// we expect all rows to have the same length and and same number of rows
-				gridSize = row.length();
-			} else if (row.length() != gridSize) {
-				throw new InvalidGridException("The Grid has invalid number of columns");
-			}
-			rows.add(row);
-			for (int chIndex = 0; chIndex < row.length(); chIndex++) {
-				builderColumns.get(chIndex).append(row.charAt(chIndex));
+	/**
+	 * Locates each word, in the given order, without throwing: the words that are
+	 * not in the grid are {@link Match#NOT_FOUND}. The words rejected by the
+	 * {@link GridFilter} are not searched, the others are located in a single
+	 * sweep over the grid, or by the engine.
+	 */
+	public List<Word> findWords(List<String> wordsToFind) {
+		GridFilter gridFilter = getFilter();
+		boolean[] searched = new boolean[wordsToFind.size()];
+		List<String> candidates = new ArrayList<>();
+		for (int i = 0; i < wordsToFind.size(); i++) {
+			searched[i] = gridFilter.mayContain(wordsToFind.get(i));
+			if (searched[i]) {
+				candidates.add(wordsToFind.get(i));
 			}
 		}
 
-		if (rows.size() != gridSize) {
-			throw new InvalidGridException("The Grid has invalid number of rows");
+		long[] matches;
+		if (engine != null) {
+			matches = candidates.stream().mapToLong(this::searchMatch).toArray();
+		} else {
+			matches = locateWords(new CompiledWordList(candidates));
 		}
 
-		for (StringBuilder column : builderColumns) {
-			columns.add(column.toString());
+		List<Word> located = new ArrayList<>(wordsToFind.size());
+		int candidate = 0;
+		for (int i = 0; i < wordsToFind.size(); i++) {
+			located.add(new Word(wordsToFind.get(i), searched[i] ? matches[candidate++] : Match.NOT_FOUND));
 		}
+		return Collections.unmodifiableList(located);
+	}
+
+	/**
+	 * Same as {@link #findMatchForWord(String)} without throwing, the match being
+	 * {@link Match#NOT_FOUND} if the word is not in the grid. A word rejected by
+	 * the {@link GridFilter} is not searched.
+	 */
+	public Word findWord(String word) {
+		return new Word(word, getFilter().mayContain(word) ? searchMatch(word) : Match.NOT_FOUND);
+	}
 
-		processGridDiagonally();
+	/**
+	 * Letters summary of the grid, built on first use
+	 */
+	public GridFilter getFilter() {
+		GridFilter current = filter;
+		if (current == null) {
+			current = new GridFilter(grid);
+			filter = current;
+		}
+		return current;
 	}
 
 	/**
-	 * Saves each diagonal line in a separate string, both ascending and descending
+	 * Reports every occurrence of every word as soon as it is found, see
+	 * {@link #findAllOccurrences(long, OccurrenceListener)}
 	 */
-	private void processGridDiagonally() {
-		int dimension = gridSize * 2;
-		for (int j = 0; j < dimension; j++) {
-			StringBuilder diagonalLettersAscending = new StringBuilder();
-			StringBuilder diagonalLettersDescending = new StringBuilder();
-			for (int col = 0; col <= j; col++) {
-				int row = j - col;
-				int middle = gridSize - row;
-				if (middle >= 0 && middle < gridSize && col < gridSize) {
-					diagonalLettersAscending.append(rows.get(middle).charAt(col));
-				}
-				if (row >= 0 && row < gridSize && col < gridSize) {
-					diagonalLettersDescending.append(rows.get(row).charAt(col));
+	public void findAllOccurrences(OccurrenceListener listener) {
+		findAllOccurrences(Long.MAX_VALUE, listener);
+	}
+
+	/**
+	 * Reports every occurrence of every word as soon as it is found, up to a limit
+	 * per word. The lines are scanned in search order and the scan stops once every
+	 * word reached its limit. A palindrome is only reported forwards.
+	 */
+	public void findAllOccurrences(long limitPerWord, OccurrenceListener listener) {
+		OccurrenceScanner scanner = new OccurrenceScanner(words, grid, limitPerWord);
+		while (scanner.scanNextLine(listener)) {
+			// The occurrences of a line are reported while it is scanned
+		}
+	}
+
+	/**
+	 * Same as {@link #findAllOccurrences(long, OccurrenceListener)}, the lines
+	 * being scanned one at a time as the stream is consumed
+	 */
+	public Stream<Word> streamAllOccurrences(long limitPerWord) {
+		OccurrenceScanner scanner = new OccurrenceScanner(words, grid, limitPerWord);
+		return StreamSupport.stream(new Spliterators.AbstractSpliterator<Word>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+
+			private final Queue<Word> lineOccurrences = new ArrayDeque<>();
+
+			@Override
+			public boolean tryAdvance(Consumer<? super Word> action) {
+				while (lineOccurrences.isEmpty()) {
+					if (!scanner.scanNextLine((word, match) -> lineOccurrences.add(new Word(word, match)))) {
+						return false;
+					}
 				}
+				action.accept(lineOccurrences.poll());
+				return true;
 			}
+		}, false);
+	}
 
-			if (diagonalLettersAscending.length() > 0) {
-				diagonalAscending.add(diagonalLettersAscending.toString());
+	/**
+	 * Number of occurrences of each word, up to a limit per word, without locating
+	 * them
+	 */
+	public Map<String, Long> countAllOccurrences(long limitPerWord) {
+		long[] counts = new OccurrenceScanner(words, grid, limitPerWord).countAll();
+		Map<String, Long> occurrences = new LinkedHashMap<>();
+		for (int i = 0; i < words.size(); i++) {
+			occurrences.put(words.get(i), counts[i]);
+		}
+		return occurrences;
+	}
+
+	/**
+	 * Finds which words of the dictionary are in the grid, see
+	 * {@link #findDictionaryWords(DictionaryTrie, ForkJoinPool)}
+	 */
+	public List<Word> findDictionaryWords(DictionaryTrie dictionary) {
+		return findDictionaryWords(dictionary, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds which words of the dictionary are in the grid, walking the grid from
+	 * every cell along the dictionary trie, the rows being walked on the pool. The
+	 * words found are in dictionary order, each with the location
+	 * {@link #findLocationForWord(String)} would find.
+	 */
+	public List<Word> findDictionaryWords(DictionaryTrie dictionary, ForkJoinPool pool) {
+		long[] matches = dictionary.findFirstMatches(grid, pool);
+		List<Word> found = new ArrayList<>();
+		for (int i = 0; i < matches.length; i++) {
+			if (matches[i] != Match.NOT_FOUND) {
+				found.add(new Word(dictionary.getWords().get(i), matches[i]));
 			}
-			if (diagonalLettersDescending.length() > 0) {
-				diagonalDescending.add(diagonalLettersDescending.toString());
+		}
+		return Collections.unmodifiableList(found);
+	}
+
+	private List<Word> toWords(long[] matches) throws WordNotFoundException {
+		List<Word> located = new ArrayList<>(words.size());
+		for (int i = 0; i < words.size(); i++) {
+			if (matches[i] == Match.NOT_FOUND) {
+				throw new WordNotFoundException(String.format("Word [%s] was not found in the grid", words.get(i)));
 			}
+			located.add(new Word(words.get(i), matches[i]));
 		}
+		return Collections.unmodifiableList(located);
 	}
 
-	public List<Word> getWords() throws WordNotFoundException {
-		if(!wordsFound) {
-			for(Word word : words) {
-				word.setLocation(findLocationForWord(word.getWord()));
+	/**
+	 * Words with their automaton, built on first use
+	 */
+	private CompiledWordList getCompiledWords() {
+		CompiledWordList compiled = compiledWords;
+		if (compiled == null) {
+			compiled = new CompiledWordList(words);
+			compiledWords = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Locates the words in a single sweep over the grid. Each line is scanned once
+	 * with an automaton that matches every word forwards and backwards, and a word
+	 * keeps the first location the per word search would have found.
+	 */
+	private long[] locateWords(CompiledWordList wordsToLocate) {
+		WordMatcher matcher = wordsToLocate.getMatcher();
+		int[] lengths = wordsToLocate.getLengths();
+		long[] locations = new long[lengths.length];
+		Arrays.fill(locations, Match.NOT_FOUND);
+
+		sweepLines(matcher, Phase.SEARCH_ROWS, rows, lengths, locations,
+				(i, index, length, backwards) -> backwards
+						? coordinatesGeneratorHorizontallyBackwards.generate(i, index, length)
+						: coordinatesGeneratorHorizontallyForwards.generate(i, index, length));
+		sweepLines(matcher, Phase.SEARCH_COLUMNS, columns, lengths, locations,
+				(i, index, length, backwards) -> backwards
+						? coordinatesGeneratorVerticallyBackwards.generate(i, index, length)
+						: coordinatesGeneratorVerticallyForwards.generate(i, index, length));
+		sweepLines(matcher, Phase.SEARCH_DIAGONALS_ASCENDING, diagonalAscending, lengths, locations,
+				(i, index, length, backwards) -> locateInDiagonal(diagonalAscending.get(i), index, length, backwards,
+						coordinatesGeneratorDiagonallyAscendingForwards,
+						coordinatesGeneratorDiagonallyAscendingBackwards));
+		sweepLines(matcher, Phase.SEARCH_DIAGONALS_DESCENDING, diagonalDescending, lengths, locations,
+				(i, index, length, backwards) -> locateInDiagonal(diagonalDescending.get(i), index, length, backwards,
+						coordinatesGeneratorDiagonallyDescendingForwards,
+						coordinatesGeneratorDiagonallyDescendingBackwards));
+		return locations;
+	}
+
+	private void sweepLines(WordMatcher matcher, Phase phase, List<GridLine> lettersList, int[] lengths,
+			long[] locations, LineLocator locator) {
+		SearchMetrics.Probe probe = SearchMetrics.start(phase);
+		long[] candidates = new long[1];
+		int[] forwardIndex = new int[lengths.length];
+		int[] backwardIndex = new int[lengths.length];
+		Arrays.fill(forwardIndex, -1);
+		Arrays.fill(backwardIndex, -1);
+		List<Integer> matched = new ArrayList<>();
+		int remaining = (int) Arrays.stream(locations).filter(location -> location == Match.NOT_FOUND).count();
+
+		int i = 0;
+		for (; i < lettersList.size() && remaining > 0; i++) {
+			matcher.scan(lettersList.get(i), (wordIndex, backwards, index) -> {
+				candidates[0]++;
+				if (locations[wordIndex] != Match.NOT_FOUND) {
+					return;
+				}
+				if (forwardIndex[wordIndex] == -1 && backwardIndex[wordIndex] == -1) {
+					matched.add(wordIndex);
+				}
+				// Keep the first occurrence, like indexOf does
+				int[] found = backwards ? backwardIndex : forwardIndex;
+				if (found[wordIndex] == -1) {
+					found[wordIndex] = index;
+				}
+			});
+
+			for (int wordIndex : matched) {
+				int length = lengths[wordIndex];
+				// Forward occurrence takes precedence within a line
+				if (forwardIndex[wordIndex] > -1) {
+					locations[wordIndex] = locator.locate(i, forwardIndex[wordIndex], length, false);
+				} else {
+					locations[wordIndex] = locator.locate(i, backwardIndex[wordIndex], length, true);
+				}
+				forwardIndex[wordIndex] = -1;
+				backwardIndex[wordIndex] = -1;
+				remaining--;
 			}
-			wordsFound = true;
+			matched.clear();
 		}
-		return words;
+		SearchMetrics.stop(probe, i, candidates[0]);
 	}
 
 	public Set<Coordinates> findLocationForWord(String word) throws WordNotFoundException {
-		Set<Coordinates> location = new TreeSet<>();
-		searchWordHorizontally(word, location);
-		searchWordVertically(word, location);
-		searchWrodDiagonallyAscending(word, location);
-		searchWrodDiagonallyDescending(word, location);
+		return Match.toCoordinates(findMatchForWord(word));
+	}
 
-		if (location.isEmpty()) {
+	/**
+	 * Same as {@link #findLocationForWord(String)}, the location being packed in a
+	 * single long, see {@link Match}
+	 */
+	public long findMatchForWord(String word) throws WordNotFoundException {
+		long match = searchMatch(word);
+		if (match == Match.NOT_FOUND) {
 			throw new WordNotFoundException(String.format("Word [%s] was not found in the grid", word));
 		}
-		return location;
+		return match;
+	}
+
+	private long searchMatch(String word) {
+		long match = Match.NOT_FOUND;
+		if (engine != null) {
+			SearchMetrics.Probe probe = SearchMetrics.start(Phase.SEARCH_ENGINE);
+			match = engine.findMatch(word);
+			SearchMetrics.stop(probe, 0, match == Match.NOT_FOUND ? 0 : 1);
+		} else if (!word.isEmpty()) {
+			match = searchWordHorizontally(word, match);
+			match = searchWordVertically(word, match);
+			match = searchWrodDiagonallyAscending(word, match);
+			match = searchWrodDiagonallyDescending(word, match);
+		}
+		return match;
 	}
 
-	private void searchWordHorizontally(String word, Set<Coordinates> location) {
-		if (location.isEmpty()) {
-			location.addAll(searchWordInListOfLetters(word, rows, coordinatesGeneratorHorizontallyForwards,
-					coordinatesGeneratorHorizontallyBackwards));
+	private long searchWordHorizontally(String word, long match) {
+		if (match == Match.NOT_FOUND) {
+			match = searchWordInListOfLetters(word, Phase.SEARCH_ROWS, rows,
+					coordinatesGeneratorHorizontallyForwards, coordinatesGeneratorHorizontallyBackwards);
 		}
+		return match;
 	}
 
-	private void searchWordVertically(String word, Set<Coordinates> location) {
-		if (location.isEmpty()) {
-			location.addAll(searchWordInListOfLetters(word, columns, coordinatesGeneratorVerticallyForwards,
-					coordinatesGeneratorVerticallyBackwards));
+	private long searchWordVertically(String word, long match) {
+		if (match == Match.NOT_FOUND) {
+			match = searchWordInListOfLetters(word, Phase.SEARCH_COLUMNS, columns,
+					coordinatesGeneratorVerticallyForwards, coordinatesGeneratorVerticallyBackwards);
 		}
+		return match;
 	}
 
-	private void searchWrodDiagonallyAscending(String word, Set<Coordinates> location) {
-		if (location.isEmpty()) {
-			location.addAll(searchWordDiagonally(word, diagonalAscending,
-					coordinatesGeneratorDiagonallyAscendingForwards, coordinatesGeneratorDiagonallyAscendingBackwards));
+	private long searchWrodDiagonallyAscending(String word, long match) {
+		if (match == Match.NOT_FOUND) {
+			match = searchWordDiagonally(word, Phase.SEARCH_DIAGONALS_ASCENDING, diagonalAscending,
+					coordinatesGeneratorDiagonallyAscendingForwards, coordinatesGeneratorDiagonallyAscendingBackwards);
 		}
+		return match;
 	}
 
-	private void searchWrodDiagonallyDescending(String word, Set<Coordinates> location) {
-		if (location.isEmpty()) {
-			location.addAll(
-					searchWordDiagonally(word, diagonalDescending, coordinatesGeneratorDiagonallyDescendingForwards,
-							coordinatesGeneratorDiagonallyDescendingBackwards));
+	private long searchWrodDiagonallyDescending(String word, long match) {
+		if (match == Match.NOT_FOUND) {
+			match = searchWordDiagonally(word, Phase.SEARCH_DIAGONALS_DESCENDING, diagonalDescending,
+					coordinatesGeneratorDiagonallyDescendingForwards, coordinatesGeneratorDiagonallyDescendingBackwards);
 		}
+		return match;
 	}
 
-	private Set<Coordinates> searchWordDiagonally(String word, List<String> diagonal, CoordinatesGenerator forward,
-			CoordinatesGenerator backward) {
-		Set<Coordinates> location = new TreeSet<>();
-		boolean isAscending = diagonal.equals(diagonalAscending);
-		int x = 0;
-		int y = isAscending ? gridSize : -1;
+	private long searchWordDiagonally(String word, Phase phase, List<GridLine> diagonal,
+			CoordinatesGenerator forward, CoordinatesGenerator backward) {
+		SearchMetrics.Probe probe = SearchMetrics.start(phase);
+		String reversedWord = reverseString(word);
 		for (int i = 0; i < diagonal.size(); i++) {
-			String letters = diagonal.get(i);
-			// Search for word in a list of letters forwards and backwards
-			int forwardIndex = letters.indexOf(word);
-			int backwardIndex = letters.indexOf(reverseString(word));
-
-			x = moveDiagonallyX(x, i);
-			y = moveDiagonallyY(y, i, isAscending);
-
-			if (forwardIndex > -1) {
-				int forwardY = isAscending ? y + forwardIndex : y - forwardIndex;
-				location.addAll(forward.generate(x + forwardIndex, forwardY, word.length()));
-			} else if (backwardIndex > -1) {
-				backwardIndex += word.length() - 1;
-				int backwardY = isAscending ? y + backwardIndex : y - backwardIndex;
-				location.addAll(backward.generate(x + backwardIndex, backwardY, word.length()));
+			long match = searchWordInDiagonal(word, reversedWord, diagonal.get(i), forward, backward);
+			if (match != Match.NOT_FOUND) {
+				// Word is found, no need to search further
+				SearchMetrics.stop(probe, i + 1, 1);
+				return match;
 			}
+		}
+
+		SearchMetrics.stop(probe, diagonal.size(), 0);
+		return Match.NOT_FOUND;
+	}
 
-			if (!location.isEmpty()) {
+	private long searchWordInDiagonal(String word, String reversedWord, GridLine letters,
+			CoordinatesGenerator forward, CoordinatesGenerator backward) {
+		// Search for word in a list of letters forwards and backwards
+		int forwardIndex = letters.indexOf(word);
+		if (forwardIndex > -1) {
+			return locateInDiagonal(letters, forwardIndex, word.length(), false, forward, backward);
+		}
+		int backwardIndex = letters.indexOf(reversedWord);
+		if (backwardIndex > -1) {
+			return locateInDiagonal(letters, backwardIndex, word.length(), true, forward, backward);
+		}
+		return Match.NOT_FOUND;
+	}
+
+	/**
+	 * Packs the location of a word found at the given index of a diagonal line, the
+	 * backward index being the index of the reversed word
+	 */
+	private long locateInDiagonal(GridLine diagonal, int index, int length, boolean backwards,
+			CoordinatesGenerator forward, CoordinatesGenerator backward) {
+		// The word starts on its first letter, which is the last one of the reversed word
+		int offset = diagonal.getOffset(backwards ? index + length - 1 : index);
+		return (backwards ? backward : forward).generate(grid.getX(offset), grid.getY(offset), length);
+	}
+
+	private long searchWordInListOfLetters(String word, Phase phase, List<GridLine> lettersList,
+			CoordinatesGenerator forward, CoordinatesGenerator backward) {
+		SearchMetrics.Probe probe = SearchMetrics.start(phase);
+		String reversedWord = reverseString(word);
+		for (int i = 0; i < lettersList.size(); i++) {
+			long match = searchWordInLetters(word, reversedWord, i, lettersList.get(i), forward, backward);
+			if (match != Match.NOT_FOUND) {
 				// Word is found, no need to search further
-				break;
+				SearchMetrics.stop(probe, i + 1, 1);
+				return match;
 			}
+		}
 
+		SearchMetrics.stop(probe, lettersList.size(), 0);
+		return Match.NOT_FOUND;
+	}
+
+	private long searchWordInLetters(String word, String reversedWord, int axis, GridLine letters,
+			CoordinatesGenerator forward, CoordinatesGenerator backward) {
+		// Search for word in a list of letters forwards and backwards, if found
+		// generate coordinates
+		int forwardIndex = letters.indexOf(word);
+		if (forwardIndex > -1) {
+			return forward.generate(axis, forwardIndex, word.length());
 		}
+		int backwardIndex = letters.indexOf(reversedWord);
+		if (backwardIndex > -1) {
+			return backward.generate(axis, backwardIndex, word.length());
+		}
+		return Match.NOT_FOUND;
+	}
 
-		return location;
+	/**
+	 * Same as {@link #findLocationForWord(String)}, the lines being split in
+	 * fork-join tasks. The first match is still the one found by the sequential
+	 * search: lines are numbered in the order they are searched and a task stops as
+	 * soon as a match was found in a line before its own.
+	 */
+	public Set<Coordinates> findLocationForWord(String word, ForkJoinPool pool) throws WordNotFoundException {
+		return Match.toCoordinates(findMatchForWord(word, pool));
 	}
 
-	private int moveDiagonallyX(int currentX, int diagonalNumber) {
-		if (diagonalNumber >= gridSize) {
-			return ++currentX;
+	public long findMatchForWord(String word, ForkJoinPool pool) throws WordNotFoundException {
+		String reversedWord = reverseString(word);
+		AtomicInteger firstLine = new AtomicInteger(Integer.MAX_VALUE);
+		if (!word.isEmpty()) {
+			int linesCount = rows.size() + columns.size() + diagonalAscending.size() + diagonalDescending.size();
+			int linesPerTask = Math.max(MIN_LINES_PER_TASK, linesCount / (pool.getParallelism() * 4));
+			pool.invoke(new LinesSearchTask(word, reversedWord, 0, linesCount, linesPerTask, firstLine));
+		}
+
+		if (firstLine.get() == Integer.MAX_VALUE) {
+			throw new WordNotFoundException(String.format("Word [%s] was not found in the grid", word));
 		}
-		return currentX;
+		return searchWordInLine(word, reversedWord, firstLine.get());
 	}
 
-	private int moveDiagonallyY(int currentY, int diagonalNumber, boolean isAscending) {
-		int newY = currentY;
-		if (diagonalNumber < gridSize) {
-			newY = isAscending ? --newY : ++newY;
+	/**
+	 * Searches a line numbered in search order: rows, columns, diagonals ascending
+	 * then diagonals descending
+	 */
+	private long searchWordInLine(String word, String reversedWord, int lineNumber) {
+		if (lineNumber < rows.size()) {
+			return searchWordInLetters(word, reversedWord, lineNumber, rows.get(lineNumber),
+					coordinatesGeneratorHorizontallyForwards, coordinatesGeneratorHorizontallyBackwards);
 		}
-		return newY;
+		lineNumber -= rows.size();
+		if (lineNumber < columns.size()) {
+			return searchWordInLetters(word, reversedWord, lineNumber, columns.get(lineNumber),
+					coordinatesGeneratorVerticallyForwards, coordinatesGeneratorVerticallyBackwards);
+		}
+		lineNumber -= columns.size();
+		if (lineNumber < diagonalAscending.size()) {
+			return searchWordInDiagonal(word, reversedWord, diagonalAscending.get(lineNumber),
+					coordinatesGeneratorDiagonallyAscendingForwards, coordinatesGeneratorDiagonallyAscendingBackwards);
+		}
+		lineNumber -= diagonalAscending.size();
+		return searchWordInDiagonal(word, reversedWord, diagonalDescending.get(lineNumber),
+				coordinatesGeneratorDiagonallyDescendingForwards, coordinatesGeneratorDiagonallyDescendingBackwards);
 	}
 
-	private Set<Coordinates> searchWordInListOfLetters(String word, List<String> lettersList,
-			CoordinatesGenerator forward, CoordinatesGenerator backward) {
-		Set<Coordinates> location = new TreeSet<>();
-		for (int i = 0; i < lettersList.size(); i++) {
-			String letters = lettersList.get(i);
+	/**
+	 * Searches a range of lines, keeping the number of the first line the word is
+	 * found in
+	 */
+	private class LinesSearchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 4711250325093146721L;
+
+		private final String word;
+		private final String reversedWord;
+		private final int from;
+		private final int to;
+		private final int linesPerTask;
+		private final AtomicInteger firstLine;
+
+		LinesSearchTask(String word, String reversedWord, int from, int to, int linesPerTask,
+				AtomicInteger firstLine) {
+			this.word = word;
+			this.reversedWord = reversedWord;
+			this.from = from;
+			this.to = to;
+			this.linesPerTask = linesPerTask;
+			this.firstLine = firstLine;
+		}
 
-			// Search for word in a list of letters forwards and backwards
-			int forwardIndex = letters.indexOf(word);
-			int backwardIndex = letters.indexOf(reverseString(word));
+		@Override
+		protected void compute() {
+			if (from >= firstLine.get()) {
+				// A match was already found before this range
+				return;
+			}
 
-			// If found generate coordinates
-			if (forwardIndex > -1) {
-				location.addAll(forward.generate(i, forwardIndex, word.length()));
-			} else if (backwardIndex > -1) {
-				location.addAll(backward.generate(i, backwardIndex, word.length()));
+			if (to - from > linesPerTask) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new LinesSearchTask(word, reversedWord, from, middle, linesPerTask, firstLine),
+						new LinesSearchTask(word, reversedWord, middle, to, linesPerTask, firstLine));
+				return;
 			}
 
-			if (!location.isEmpty()) {
-				// Word is found, no need to search further
-				break;
+			for (int lineNumber = from; lineNumber < to && lineNumber < firstLine.get(); lineNumber++) {
+				if (searchWordInLine(word, reversedWord, lineNumber) != Match.NOT_FOUND) {
+					firstLine.accumulateAndGet(lineNumber, Math::min);
+					return;
+				}
 			}
 		}
-
-		return location;
 	}
 
 	private String reverseString(String value) {
@@ -311,4 +778,39 @@ public class WordSearch {
 		return getWords().stream().map(Word::toString).collect(Collectors.joining(System.getProperty("line.separator")));
 	}
 
+	/**
+	 * Same as {@link #print()}, each word being encoded by the writer instead of
+	 * joining all the words in a string. Nothing is written if a word is not found,
+	 * the writer is not flushed.
+	 */
+	public void print(ResultWriter writer) throws IOException, WordNotFoundException {
+		print(writer, false);
+	}
+
+	/**
+	 * Same as {@link #print(ResultWriter)}, or when streamed each word is searched
+	 * on its own like {@link #findWord(String)} and the writer is flushed as soon
+	 * as the word is written, so the first word is written before the next ones
+	 * are searched. When streamed, the words found before a missing word are
+	 * already written when the exception is thrown.
+	 */
+	public void print(ResultWriter writer, boolean streamed) throws IOException, WordNotFoundException {
+		List<Word> found = foundWords;
+		if (!streamed || found != null) {
+			for (Word word : getWords()) {
+				writer.write(word);
+			}
+			return;
+		}
+
+		for (String word : words) {
+			Word located = findWord(word);
+			if (located.getMatch() == Match.NOT_FOUND) {
+				throw new WordNotFoundException(String.format("Word [%s] was not found in the grid", word));
+			}
+			writer.write(located);
+			writer.flush();
+		}
+	}
+
 }
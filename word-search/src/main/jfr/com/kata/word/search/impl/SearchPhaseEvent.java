@@ -0,0 +1,65 @@
+package com.kata.word.search.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a phase timed by {@link SearchMetrics}. Only used
+ * through its {@link Recorder}, loaded by name once the flight recorder is
+ * known to be available, so the other classes load on a JVM without it.
+ */
+@Name("com.kata.word.search.Phase")
+@Label("Word Search Phase")
+@Category("Word Search")
+@Description("Loading or searching a word search grid")
+class SearchPhaseEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Lines Scanned")
+	long linesScanned;
+
+	@Label("Candidates")
+	@Description("Matches found in the lines, including the ones after the first match of a word")
+	long candidates;
+
+	/**
+	 * Created by {@link SearchMetrics} by reflection
+	 */
+	static final class Recorder implements PhaseRecorder {
+
+		@Override
+		public Object begin(String phase) {
+			return SearchPhaseEvent.begin(phase);
+		}
+
+		@Override
+		public void commit(Object started, long linesScanned, long candidates) {
+			SearchPhaseEvent.commit(started, linesScanned, candidates);
+		}
+	}
+
+	static Object begin(String phase) {
+		SearchPhaseEvent event = new SearchPhaseEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.phase = phase;
+		event.begin();
+		return event;
+	}
+
+	static void commit(Object started, long linesScanned, long candidates) {
+		SearchPhaseEvent event = (SearchPhaseEvent) started;
+		event.end();
+		if (event.shouldCommit()) {
+			event.linesScanned = linesScanned;
+			event.candidates = candidates;
+			event.commit();
+		}
+	}
+}
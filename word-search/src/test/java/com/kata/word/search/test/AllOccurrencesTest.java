@@ -0,0 +1,63 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class AllOccurrencesTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenSearchForAllOccurrencesAndReportEachOfThem() throws Exception {
+		WordSearch wordSearch = new WordSearch(new ByteArrayInputStream("AB,AA\nA,B\nB,A".getBytes(StandardCharsets.US_ASCII)));
+		Map<String, Long> expectedCounts = new LinkedHashMap<>();
+		expectedCounts.put("AB", 4L);
+		expectedCounts.put("AA", 1L);
+		assertEquals(expectedCounts, wordSearch.countAllOccurrences(Long.MAX_VALUE));
+		assertEquals(Arrays.asList("AB: (0,0),(1,0)", "AB: (1,1),(0,1)", "AB: (0,0),(0,1)", "AB: (1,1),(1,0)", "AA: (0,0),(1,1)"),
+				wordSearch.streamAllOccurrences(Long.MAX_VALUE).map(Word::toString).collect(Collectors.toList()));
+		assertEquals(3, wordSearch.streamAllOccurrences(2).count());
+
+		Map<String, Long> counts = wordSearchSize8.countAllOccurrences(Long.MAX_VALUE);
+		Map<String, Long> found = new HashMap<>();
+		wordSearchSize8.findAllOccurrences((word, match) -> {
+			found.merge(word, 1L, Long::sum);
+			assertEquals(word.length(), Match.getLength(match));
+		});
+		assertEquals(counts, found);
+		for (Word word : wordSearchSize8.getWords()) {
+			Word first = wordSearchSize8.streamAllOccurrences(Long.MAX_VALUE).filter(occurrence -> occurrence.getWord().equals(word.getWord()))
+					.min(Comparator.comparingLong(occurrence -> Match.getSearchOrder(occurrence.getMatch(), 8))).get();
+			assertEquals(word.getMatch(), first.getMatch());
+		}
+		assertThrows(IllegalArgumentException.class, () -> wordSearchSize8.countAllOccurrences(0));
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(AllOccurrencesTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
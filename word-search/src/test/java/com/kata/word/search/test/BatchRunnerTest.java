@@ -0,0 +1,139 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.kata.word.search.BatchRunner;
+import com.kata.word.search.Main;
+import com.kata.word.search.impl.WordSearch;
+
+public class BatchRunnerTest {
+
+	private static WordSearch wordSearchSize6;
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize6 = new WordSearch(getResourcePath("word-search-input-valid-size6.txt"));
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenRunABatchOverADirectoryAGlobOrAListAndPrintEachResult(@TempDir Path directory) throws Exception {
+		Path resources = getResourcePath("word-search-input-valid-size6.txt").getParent();
+		String newLine = System.getProperty("line.separator");
+		String size6 = "==> " + resources.resolve("word-search-input-valid-size6.txt") + " <==" + newLine
+				+ wordSearchSize6.print() + newLine;
+		String size8 = "==> " + resources.resolve("word-search-input-valid-size8.txt") + " <==" + newLine
+				+ wordSearchSize8.print() + newLine;
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream report = new ByteArrayOutputStream();
+		int files = newBatchRunner(null, out, report).run(resources.toString());
+		assertEquals(Files.list(resources).filter(Files::isRegularFile).count(), files);
+		assertTrue(out.toString().contains(size6));
+		assertTrue(out.toString().contains(size8));
+		assertTrue(out.toString().contains("ERROR: The grid should contain only upper case letters separated by comma."));
+
+		out.reset();
+		assertEquals(3, newBatchRunner(null, out, report).run(resources + "/word-search-input-valid-size*.txt"));
+		assertTrue(out.toString().contains(size6));
+		assertTrue(out.toString().contains(size8));
+
+		out.reset();
+		Path list = directory.resolve("list.txt");
+		Files.write(list, Arrays.asList(resources.resolve("word-search-input-valid-size8.txt").toString(), "",
+				resources.resolve("word-search-input-valid-size6.txt").toString()));
+		assertEquals(2, newBatchRunner(null, out, report).run(list.toString()));
+		assertEquals(size8 + size6, out.toString());
+	}
+
+	@Test
+	public void whenRunABatchWithAnOutputDirectoryAndWriteTheResultsInMirroredPaths(@TempDir Path directory)
+			throws Exception {
+		Path resources = getResourcePath("word-search-input-valid-size6.txt").getParent();
+		Path inputs = directory.resolve("inputs");
+		Files.createDirectories(inputs.resolve("a"));
+		Files.createDirectories(inputs.resolve("b"));
+		Files.copy(resources.resolve("word-search-input-valid-size6.txt"), inputs.resolve("a/puzzle.txt"));
+		Files.copy(resources.resolve("word-search-input-valid-size8.txt"), inputs.resolve("b/puzzle.txt"));
+
+		Path output = directory.resolve("output");
+		ByteArrayOutputStream report = new ByteArrayOutputStream();
+		assertEquals(2, newBatchRunner(output, new ByteArrayOutputStream(), report).run(inputs + "/**/puzzle.txt"));
+		assertEquals(wordSearchSize6.print(),
+				new String(Files.readAllBytes(output.resolve("a/puzzle.txt.out")), StandardCharsets.UTF_8));
+		assertEquals(wordSearchSize8.print(),
+				new String(Files.readAllBytes(output.resolve("b/puzzle.txt.out")), StandardCharsets.UTF_8));
+		assertTrue(report.toString().contains("(0 errors)"));
+
+		// The pattern matches the paths relative to the directory it starts in
+		Path patternOutput = directory.resolve("pattern-output");
+		assertEquals(1, newBatchRunner(patternOutput, new ByteArrayOutputStream(), report)
+				.run(inputs + File.separator + "b" + File.separator + "*.txt"));
+		assertEquals(wordSearchSize8.print(),
+				new String(Files.readAllBytes(patternOutput.resolve("puzzle.txt.out")), StandardCharsets.UTF_8));
+
+		// Listed files with the same name would be written in the same file, the second one is rejected
+		Path listOutput = directory.resolve("list-output");
+		Path list = directory.resolve("list.txt");
+		Files.write(list, Arrays.asList(inputs.resolve("a/puzzle.txt").toString(),
+				inputs.resolve("b/puzzle.txt").toString()));
+		report.reset();
+		assertEquals(2, newBatchRunner(listOutput, new ByteArrayOutputStream(), report).run(list.toString()));
+		assertEquals(wordSearchSize6.print(),
+				new String(Files.readAllBytes(listOutput.resolve("puzzle.txt.out")), StandardCharsets.UTF_8));
+		assertTrue(report.toString().contains("ERROR: " + inputs.resolve("b/puzzle.txt")));
+		assertTrue(report.toString().contains("(1 errors)"));
+	}
+
+	@Test
+	public void whenRunABatchWithAnUnknownOptionAndPrintTheUsage() throws Exception {
+		PrintStream systemOut = System.out;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out, true));
+		try {
+			Main.main(new String[] { "--batch", "puzzles", "--thread", "2" });
+			Main.main(new String[] { "--server", "0", "--threads" });
+			Main.main(new String[] { "--batch" });
+			Main.main(new String[] { "--batch", "puzzles", "--threads", "two" });
+			Main.main(new String[] { "--batch", "puzzles", "--threads", "0" });
+			Main.main(new String[] { "--server", "http" });
+		} finally {
+			System.setOut(systemOut);
+		}
+		String newLine = System.getProperty("line.separator");
+		String batchUsage = "Usage: --batch <directory|glob|list file> [--threads <count>] [--output <directory>]";
+		assertEquals("ERROR: Invalid option --thread" + newLine + batchUsage + newLine
+				+ "ERROR: Invalid option --threads" + newLine
+				+ "Usage: --server <port> [--threads <count>] [--cache-cells <count>]" + newLine
+				+ "ERROR: Invalid option --batch" + newLine + batchUsage + newLine
+				+ "ERROR: Invalid option --threads two" + newLine + batchUsage + newLine
+				+ "ERROR: The number of threads must be positive" + newLine + batchUsage + newLine
+				+ "ERROR: Invalid option --server http" + newLine
+				+ "Usage: --server <port> [--threads <count>] [--cache-cells <count>]" + newLine, out.toString());
+	}
+
+	private static BatchRunner newBatchRunner(Path outputDirectory, ByteArrayOutputStream out,
+			ByteArrayOutputStream report) {
+		return new BatchRunner(1, outputDirectory, new PrintStream(out, true), new PrintStream(report, true));
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(BatchRunnerTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
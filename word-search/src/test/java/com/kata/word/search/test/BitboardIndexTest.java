@@ -0,0 +1,42 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.BitboardIndex;
+import com.kata.word.search.impl.WordSearch;
+
+public class BitboardIndexTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenSearchForWordsWithLetterBitsetsAndReturnTheSameLocations() throws WordNotFoundException {
+		WordSearch indexedWordSearch = wordSearchSize8.withEngine(new BitboardIndex(wordSearchSize8.getGrid()));
+		for (String word : new String[] {"HIRO", "INK", "MIST", "NORTH", "MARKET", "FRICTION", "DISTANCE", "TT", "A", "ZOO", "ORINE", "FE", "RI"}) {
+			assertEquals(wordSearchSize8.findMatchForWord(word), indexedWordSearch.findMatchForWord(word));
+		}
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("BAD"));
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("FI"));
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("DISTANCES"));
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("a"));
+		assertEquals(wordSearchSize8.print(), indexedWordSearch.print());
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(BitboardIndexTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,73 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.InvalidGridException;
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.impl.CompiledWordList;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class CompiledWordListTest {
+
+	private static WordSearch wordSearchSize6;
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize6 = new WordSearch(getResourcePath("word-search-input-valid-size6.txt"));
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenSolveManyGridsWithACompiledWordListAndReturnTheSameWords() throws Exception {
+		String firstLine = "BIKE,FLOWER,LAPTOP,MIST,ROAD,STEAM,SUN,ZOO";
+		CompiledWordList words = CompiledWordList.compile(firstLine);
+		assertEquals(Arrays.asList(firstLine.split(",")), words.getWords());
+		assertThrows(InvalidWordException.class, () -> CompiledWordList.compile("BIKE,ab"));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<Word>>> solved = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				// The word list of the file is ignored, the compiled words are searched
+				Path input = getResourcePath(
+						i % 2 == 0 ? "word-search-input-valid-size6.txt" : "word-search-input-valid-size8.txt");
+				solved.add(executor.submit(() -> new WordSearch(input, words).findWords()));
+			}
+			for (int i = 0; i < solved.size(); i++) {
+				WordSearch wordSearch = i % 2 == 0 ? wordSearchSize6 : wordSearchSize8;
+				assertEquals(wordSearch.withWords(firstLine).findWords().toString(), solved.get(i).get().toString());
+				assertEquals(wordSearch.withWords(firstLine).findWords().toString(),
+						wordSearch.withWords(words).findWords().toString());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		Path path = getResourcePath("word-search-input-valid-size8.txt");
+		assertEquals(wordSearchSize8.print(),
+				new WordSearch(path, CompiledWordList.compile(Files.readAllLines(path).get(0))).print());
+		assertThrows(InvalidGridException.class,
+				() -> new WordSearch(getResourcePath("word-search-input-grid-with-numbers.txt"), words));
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(CompiledWordListTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,55 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class ConcurrentSearchTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenAllWordsAreFoundInParallelTheyMatchTheSequentialSearch() throws Exception {
+		WordSearch wordSearch = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Word> words = wordSearch.getWords(executor);
+			assertEquals(wordSearchSize8.print(), wordSearch.print());
+			assertEquals(16, words.size());
+			assertThrows(UnsupportedOperationException.class, () -> words.remove(0));
+
+			List<Future<String>> prints = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				prints.add(executor.submit(() -> wordSearchSize8.print()));
+			}
+			for (Future<String> print : prints) {
+				assertEquals(wordSearchSize8.print(), print.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(ConcurrentSearchTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,62 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.InvalidWordException;
+import com.kata.word.search.impl.DictionaryTrie;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class DictionaryTrieTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenSearchForAllTheWordsOfADictionaryAndReturnTheOnesInTheGrid() throws Exception {
+		Path file = Files.createTempFile("dictionary", ".txt");
+		try {
+			Files.write(file, Arrays.asList("distance", "Friction", "", "INK", "BAD", "A", "MIST", "HIRO", "INK", "ZOO", "TT", "QQQ"));
+			DictionaryTrie dictionary = DictionaryTrie.load(file);
+			assertEquals(Arrays.asList("BAD", "DISTANCE", "FRICTION", "HIRO", "INK", "MIST", "QQQ", "TT", "ZOO"), dictionary.getWords());
+
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try {
+				List<Word> found = wordSearchSize8.findDictionaryWords(dictionary, pool);
+				assertEquals(Arrays.asList("DISTANCE", "FRICTION", "HIRO", "INK", "MIST", "TT", "ZOO"),
+						found.stream().map(Word::getWord).collect(Collectors.toList()));
+				for (Word word : found) {
+					assertEquals(wordSearchSize8.findMatchForWord(word.getWord()), word.getMatch());
+				}
+			} finally {
+				pool.shutdown();
+			}
+
+			Files.write(file, Arrays.asList("INK", "IN-K"));
+			assertThrows(InvalidWordException.class, () -> DictionaryTrie.load(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(DictionaryTrieTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,56 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.impl.EditableWordSearch;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class EditableWordSearchTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenEditACellThenOnlyTheWordsThroughItAreLocatedAgain() throws Exception {
+		EditableWordSearch editable = wordSearchSize8.edit();
+		assertEquals(wordSearchSize8.print(),
+				editable.getWords().stream().map(Word::toString).collect(Collectors.joining(System.lineSeparator())));
+
+		assertEquals(Collections.emptyList(), editable.setCell(1, 5, 'O'));
+		List<Word> changed = editable.setCell(1, 5, 'A');
+		assertEquals(Arrays.asList("TOES: null", "ZOO: null"),
+				changed.stream().map(Word::toString).collect(Collectors.toList()));
+		assertEquals('O', wordSearchSize8.getGrid().getLetter(1, 5));
+
+		changed = editable.setCell(1, 5, 'O');
+		assertEquals(Arrays.asList("TOES: (0,4),(1,5),(2,6),(3,7)", "ZOO: (0,6),(1,5),(2,4)"),
+				changed.stream().map(Word::toString).collect(Collectors.toList()));
+		for (Word word : editable.getWords()) {
+			assertEquals(wordSearchSize8.findMatchForWord(word.getWord()), word.getMatch());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> editable.setCell(8, 0, 'A'));
+		assertThrows(IllegalArgumentException.class, () -> editable.setCell(0, 0, 'a'));
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(EditableWordSearchTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
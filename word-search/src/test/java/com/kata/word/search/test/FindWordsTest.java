@@ -0,0 +1,61 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.BigramIndex;
+import com.kata.word.search.impl.GridFilter;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class FindWordsTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenFindWordsWithoutThrowingAndTheMissingOnesAreNotFound() throws WordNotFoundException {
+		List<String> words = Arrays.asList("HIRO", "BAD", "QQQ", "ZOO", "MISTS", "ab", "", "DISTANCEDISTANCE", "TT");
+		List<Word> found = wordSearchSize8.findWords(words);
+		assertEquals(Arrays.asList("HIRO: (5,2),(4,2),(3,2),(2,2)", "BAD: null", "QQQ: null", "ZOO: (0,6),(1,5),(2,4)",
+				"MISTS: null", "ab: null", ": null", "DISTANCEDISTANCE: null", "TT: (6,4),(7,4)"),
+				found.stream().map(Word::toString).collect(Collectors.toList()));
+		assertEquals(wordSearchSize8.print(),
+				wordSearchSize8.findWords().stream().map(Word::toString).collect(Collectors.joining(System.lineSeparator())));
+
+		WordSearch indexedWordSearch = wordSearchSize8.withEngine(new BigramIndex(wordSearchSize8.getGrid()));
+		assertEquals(found.stream().map(Word::toString).collect(Collectors.toList()),
+				indexedWordSearch.findWords(words).stream().map(Word::toString).collect(Collectors.toList()));
+		assertEquals(Match.NOT_FOUND, wordSearchSize8.findWord("BAD").getMatch());
+		assertEquals(wordSearchSize8.findMatchForWord("MIST"), wordSearchSize8.findWord("MIST").getMatch());
+
+		GridFilter filter = wordSearchSize8.getFilter();
+		for (String word : Arrays.asList("QQQ", "ZZ", "MISTS", "DISTANCEDISTANCE", "ZOOZ", "TOT")) {
+			assertFalse(filter.mayContain(word));
+		}
+		for (Word word : wordSearchSize8.findWords()) {
+			assertTrue(filter.mayContain(word.getWord()));
+		}
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(FindWordsTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
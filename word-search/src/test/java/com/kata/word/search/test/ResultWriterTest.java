@@ -0,0 +1,75 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.Direction;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.ResultWriter;
+import com.kata.word.search.impl.Word;
+import com.kata.word.search.impl.WordSearch;
+
+public class ResultWriterTest {
+
+	private static WordSearch wordSearchSize6;
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize6 = new WordSearch(getResourcePath("word-search-input-valid-size6.txt"));
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenPrintWithAResultWriterAndTheOutputIsTheSameAsPrint() throws Exception {
+		for (WordSearch wordSearch : new WordSearch[] { wordSearchSize6, wordSearchSize8 }) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			ResultWriter writer = new ResultWriter(Channels.newChannel(output), ByteBuffer.allocate(64));
+			wordSearch.print(writer);
+			writer.flush();
+			assertEquals(wordSearch.print(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+		}
+
+		// Streamed, each word is flushed once found and the words before a missing one are written
+		ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		new WordSearch(getResourcePath("word-search-input-valid-size8.txt")).print(new ResultWriter(streamed), true);
+		assertEquals(wordSearchSize8.print(), new String(streamed.toByteArray(), StandardCharsets.UTF_8));
+		streamed.reset();
+		ResultWriter streamedWriter = new ResultWriter(streamed);
+		assertThrows(WordNotFoundException.class, () -> wordSearchSize8.withWords("ZOO,HIRO,BAD,TT").print(streamedWriter, true));
+		assertEquals(wordSearchSize8.findWord("ZOO") + System.lineSeparator() + wordSearchSize8.findWord("HIRO"),
+				new String(streamed.toByteArray(), StandardCharsets.UTF_8));
+
+		List<Word> words = new ArrayList<>(wordSearchSize8.findWords(Arrays.asList("BAD", "ZOO", "THROAT")));
+		words.add(new Word("WORD", Match.of(1048575, 12, Direction.DIAGONALLY_DESCENDING_BACKWARDS, 4)));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ResultWriter writer = new ResultWriter(output);
+		for (Word word : words) {
+			writer.write(word);
+		}
+		writer.writeLineSeparator();
+		writer.flush();
+		assertEquals(words.stream().map(Word::toString).collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator(),
+				new String(output.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(ResultWriterTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,58 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.exception.InvalidSnapshotException;
+import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.BigramIndex;
+import com.kata.word.search.impl.SearchEngine;
+import com.kata.word.search.impl.SuffixArrayIndex;
+import com.kata.word.search.impl.WordSearch;
+
+public class SnapshotTest {
+
+	private static WordSearch wordSearchSize8;
+
+	@BeforeAll
+	public static void testSetup() throws Exception {
+		wordSearchSize8 = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+	}
+
+	@Test
+	public void whenWordSearchIsSavedAsASnapshotAndOpenedWithTheSameWordsAndIndex() throws Exception {
+		Path snapshot = Files.createTempFile("word-search", ".snapshot");
+		try {
+			wordSearchSize8.saveSnapshot(snapshot);
+			assertEquals(wordSearchSize8.print(), WordSearch.openSnapshot(snapshot).print());
+
+			for (SearchEngine engine : new SearchEngine[] { new SuffixArrayIndex(wordSearchSize8.getGrid()), new BigramIndex(wordSearchSize8.getGrid()) }) {
+				wordSearchSize8.withEngine(engine).saveSnapshot(snapshot);
+				WordSearch opened = WordSearch.openSnapshot(snapshot);
+				assertEquals(wordSearchSize8.print(), opened.print());
+				assertEquals(wordSearchSize8.findMatchForWord("FRICTION"), opened.findMatchForWord("FRICTION"));
+				assertThrows(WordNotFoundException.class, () -> opened.findMatchForWord("BAD"));
+			}
+
+			byte[] bytes = Files.readAllBytes(snapshot);
+			bytes[bytes.length / 2] ^= 1;
+			Files.write(snapshot, bytes);
+			assertThrows(InvalidSnapshotException.class, () -> WordSearch.openSnapshot(snapshot));
+			assertThrows(InvalidSnapshotException.class, () -> WordSearch.openSnapshot(getResourcePath("word-search-input-valid-size8.txt")));
+		} finally {
+			Files.delete(snapshot);
+		}
+	}
+
+	private static Path getResourcePath(String fileName) throws URISyntaxException {
+		return Paths.get(SnapshotTest.class.getClassLoader().getResource(fileName).toURI());
+	}
+}
@@ -0,0 +1,120 @@
+package com.kata.word.search.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.kata.word.search.SolverServer;
+
+public class SolverServerTest {
+
+	private static SolverServer server;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = new SolverServer(0, 2, 1000);
+		server.start();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Test
+	public void whenSolvingTheSameGridTwiceItIsLoadedOnlyOnce() throws Exception {
+		byte[] input = Files.readAllBytes(Paths.get(SolverServerTest.class.getClassLoader().getResource("word-search-input-valid-size5.txt").toURI()));
+		HttpURLConnection first = post("/solve", input);
+		assertEquals(200, first.getResponseCode());
+		String gridId = first.getHeaderField("X-Grid-Id");
+		assertNotNull(gridId);
+		assertTrue(read(first).startsWith("CAR: (3,1),(3,2),(3,3)"));
+
+		HttpURLConnection second = post("/solve", input);
+		assertEquals(200, second.getResponseCode());
+		assertEquals(gridId, second.getHeaderField("X-Grid-Id"));
+
+		HttpURLConnection byId = post("/solve?grid=" + gridId, "SUN,MOON\n".getBytes(StandardCharsets.US_ASCII));
+		assertEquals(200, byId.getResponseCode());
+		assertEquals("SUN: (0,0),(1,1),(2,2)" + System.getProperty("line.separator") + "MOON: (0,4),(1,4),(2,4),(3,4)", read(byId));
+
+		assertEquals(422, post("/solve?grid=" + gridId, "BAD".getBytes(StandardCharsets.US_ASCII)).getResponseCode());
+		assertEquals(400, post("/solve?grid=" + gridId, "B4D".getBytes(StandardCharsets.US_ASCII)).getResponseCode());
+		assertEquals(404, post("/solve?grid=unknown", "SUN".getBytes(StandardCharsets.US_ASCII)).getResponseCode());
+
+		HttpURLConnection stats = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + "/stats").openConnection();
+		String counters = read(stats);
+		assertTrue(counters.contains("cacheHits=4"));
+		assertTrue(counters.contains("cacheMisses=1"));
+		assertTrue(counters.contains("errors=3"));
+	}
+
+	@Test
+	public void whenPostAnInputWithABlankLineBeforeACachedGridAndItIsRejected() throws Exception {
+		// A server of its own, the counters of the shared one are checked by the test above
+		SolverServer blankLineServer = new SolverServer(0, 1, 1 << 20);
+		blankLineServer.start();
+		try {
+			byte[] grid = "A,B,C\nD,E,F\nG,H,I\n".getBytes(StandardCharsets.US_ASCII);
+			HttpURLConnection valid = post(blankLineServer, "/solve", concat("AB,EI\n", grid));
+			assertEquals(200, valid.getResponseCode());
+			HttpURLConnection cached = post(blankLineServer, "/solve", concat("AB,EI\r\n", grid));
+			assertEquals(200, cached.getResponseCode());
+			assertEquals(valid.getHeaderField("X-Grid-Id"), cached.getHeaderField("X-Grid-Id"));
+
+			HttpURLConnection blankLine = post(blankLineServer, "/solve", concat("AB,EI\n\n", grid));
+			assertEquals(400, blankLine.getResponseCode());
+			assertFalse(valid.getHeaderField("X-Grid-Id").equals(blankLine.getHeaderField("X-Grid-Id")));
+		} finally {
+			blankLineServer.stop();
+		}
+	}
+
+	private static byte[] concat(String words, byte[] grid) {
+		byte[] wordBytes = words.getBytes(StandardCharsets.US_ASCII);
+		byte[] input = Arrays.copyOf(wordBytes, wordBytes.length + grid.length);
+		System.arraycopy(grid, 0, input, wordBytes.length, grid.length);
+		return input;
+	}
+
+	private static HttpURLConnection post(String path, byte[] body) throws IOException {
+		return post(server, path, body);
+	}
+
+	private static HttpURLConnection post(SolverServer server, String path, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream output = connection.getOutputStream()) {
+			output.write(body);
+		}
+		return connection;
+	}
+
+	private static String read(HttpURLConnection connection) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try (InputStream input = connection.getInputStream()) {
+			byte[] buffer = new byte[1024];
+			for (int read = input.read(buffer); read > -1; read = input.read(buffer)) {
+				body.write(buffer, 0, read);
+			}
+		}
+		return new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
@@ -5,14 +5,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.TreeSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -20,7 +29,15 @@ import org.junit.jupiter.api.Test;
 import com.kata.word.search.exception.InvalidGridException;
 import com.kata.word.search.exception.InvalidWordException;
 import com.kata.word.search.exception.WordNotFoundException;
+import com.kata.word.search.impl.BigramIndex;
 import com.kata.word.search.impl.Coordinates;
+import com.kata.word.search.impl.Direction;
+import com.kata.word.search.impl.Grid;
+import com.kata.word.search.impl.Match;
+import com.kata.word.search.impl.SearchMetrics;
+import com.kata.word.search.impl.SearchMetrics.Phase;
+import com.kata.word.search.impl.SuffixArrayIndex;
+import com.kata.word.search.impl.TiledWordSearch;
 import com.kata.word.search.impl.Word;
 import com.kata.word.search.impl.WordSearch;
 
@@ -43,6 +60,24 @@ public class WordSearchTest {
 		assertEquals(5, wordSearch.getWords().size());
 	}
 
+	@Test
+	public void whenWordSearchReadsAStreamWithWindowsLineEndingsAndHasAllWords() throws Exception {
+		String input = "FOR,JAVA,SUN,TEST\r\nE,N,U,S\r\nF,O,R,H\r\nA,V,A,J\r\nT,E,S,T\r\n";
+		WordSearch wordSearch = new WordSearch(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+		String newLine = System.getProperty("line.separator");
+		assertEquals("FOR: (0,1),(1,1),(2,1)" + newLine + "JAVA: (3,2),(2,2),(1,2),(0,2)" + newLine
+				+ "SUN: (3,0),(2,0),(1,0)" + newLine + "TEST: (0,3),(1,3),(2,3),(3,3)", wordSearch.print());
+	}
+
+	@Test
+	public void whenWordSearchReadsAnInvalidStreamAndThrowsAnException() {
+		assertThrows(InvalidWordException.class, () -> new WordSearch(new ByteArrayInputStream(new byte[0])));
+		assertThrows(InvalidWordException.class, () -> new WordSearch(new ByteArrayInputStream("AB,\nA,B\nC,D".getBytes())));
+		assertThrows(InvalidGridException.class, () -> new WordSearch(new ByteArrayInputStream("AB\nA,B\nC,D\n\n".getBytes())));
+		assertThrows(InvalidGridException.class, () -> new WordSearch(new ByteArrayInputStream("AB\nA,B,C\nC,D,E".getBytes())));
+		assertThrows(InvalidGridException.class, () -> new WordSearch(new ByteArrayInputStream("AB".getBytes())));
+	}
+
 	@Test
 	public void whenWordSearchLoadsFilesWithInvalidWordsAndThrowsAnException() {
 
@@ -113,6 +148,38 @@ public class WordSearchTest {
 		assertThrows(IllegalArgumentException.class, () -> new Coordinates(-2, -3, -2));
 	}
 	
+	@Test
+	public void whenPackingAMatchAndCreatingItsCoordinatesLazily() throws WordNotFoundException {
+		long match = Match.of(5, 4, Direction.HORIZONTALLY_BACKWARDS, 6);
+		assertEquals(5, Match.getX(match));
+		assertEquals(4, Match.getY(match));
+		assertEquals(6, Match.getLength(match));
+		assertEquals(Direction.HORIZONTALLY_BACKWARDS, Match.getDirection(match));
+		assertEquals(match, wordSearchSize6.findMatchForWord("LAPTOP"));
+		assertIterableEquals(getCoordinates(new int[][]{{5, 4}, {4, 4}, {3, 4}, {2, 4}, {1, 4}, {0, 4}}), Match.toCoordinates(match));
+		assertThrows(IllegalArgumentException.class, () -> Match.of(-1, 0, Direction.VERTICALLY_FORWARDS, 2));
+		assertThrows(IllegalArgumentException.class, () -> Match.of(0, Match.MAX_VALUE + 1, Direction.VERTICALLY_FORWARDS, 2));
+	}
+	
+	@Test
+	public void whenReadingTheGridThroughLineViews() {
+		// A B C
+		// D E F
+		Grid grid = new Grid("ABCDEF".getBytes(), 3, 2);
+		assertEquals("DEF", grid.getRow(1).toString());
+		assertEquals("BE", grid.getColumn(1).toString());
+		assertEquals(4, grid.getDiagonalsCount());
+		assertEquals("D", grid.getDiagonalAscending(0).toString());
+		assertEquals("AE", grid.getDiagonalAscending(1).toString());
+		assertEquals("C", grid.getDiagonalAscending(3).toString());
+		assertEquals("A", grid.getDiagonalDescending(0).toString());
+		assertEquals("DB", grid.getDiagonalDescending(1).toString());
+		assertEquals("EC", grid.getDiagonalDescending(2).toString());
+		assertEquals(1, grid.getRow(0).indexOf("BC"));
+		assertEquals(-1, grid.getRow(0).indexOf("CB"));
+		assertThrows(IllegalArgumentException.class, () -> new Grid("ABCDE".getBytes(), 3, 2));
+	}
+	
 	@Test
 	public void whenSearchForWordsVerticallyUpDownAndReturnTheirLocations() throws IOException, InvalidWordException, InvalidGridException, URISyntaxException, WordNotFoundException {
 		// The words below don't exist in the word list, but for sake of testing, search for group of letters vertically from up down
@@ -182,6 +249,139 @@ public class WordSearchTest {
 		assertEquals("TREE: (2,0),(3,0),(4,0),(5,0)", tree.toString());
 	}
 	
+	@Test
+	public void whenAllWordsAreFoundInASingleSweepTheyMatchThePerWordSearch() throws WordNotFoundException {
+		for (Word word : wordSearchSize8.getWords()) {
+			assertIterableEquals(wordSearchSize8.findLocationForWord(word.getWord()), word.getLocation());
+		}
+	}
+	
+	@Test
+	public void whenSearchForWordsWithForkJoinTasksAndReturnTheSameLocations() throws WordNotFoundException {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (String word : new String[] {"HIRO", "INK", "MIST", "NORTH", "MARKET", "FRICTION", "DISTANCE", "TT"}) {
+				assertIterableEquals(wordSearchSize8.findLocationForWord(word), wordSearchSize8.findLocationForWord(word, pool));
+			}
+			assertThrows(WordNotFoundException.class, () -> wordSearchSize8.findLocationForWord("BAD", pool));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void whenSearchForAllWordsTileByTileAndReturnTheirGlobalLocations() throws Exception {
+		for (int tileSize = 1; tileSize <= 8; tileSize++) {
+			TiledWordSearch tiledWordSearch = new TiledWordSearch(getResourcePath("word-search-input-valid-size8.txt"), tileSize);
+			assertEquals(8, tiledWordSearch.getGridSize());
+			assertEquals(wordSearchSize8.print(), tiledWordSearch.print());
+		}
+		assertThrows(InvalidGridException.class, () -> new TiledWordSearch(getResourcePath("word-search-input-invalid-rows-number.txt"), 2));
+	}
+	
+	@Test
+	public void whenSearchForWordsInAnIndexedGridAndReturnTheSameLocations() throws WordNotFoundException {
+		SuffixArrayIndex index = new SuffixArrayIndex(wordSearchSize8.getGrid());
+		WordSearch indexedWordSearch = wordSearchSize8.withEngine(index);
+		for (String word : new String[] {"HIRO", "INK", "MIST", "NORTH", "MARKET", "FRICTION", "DISTANCE", "TT", "A", "ZOO", "ORINE"}) {
+			assertEquals(wordSearchSize8.findMatchForWord(word), indexedWordSearch.findMatchForWord(word));
+		}
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("BAD"));
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord(""));
+		// '@' would be read as the separator between two lines
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("F@I"));
+		assertThrows(IllegalArgumentException.class, () -> wordSearchSize6.withEngine(index));
+		assertEquals(wordSearchSize8.print(), indexedWordSearch.print());
+	}
+
+	@Test
+	public void whenSearchForCommonWordsInAnIndexedGridAndReturnTheFirstLocation() throws Exception {
+		// Two letters, so the words occur many times across many blocks of suffixes
+		Random random = new Random(5);
+		StringBuilder input = new StringBuilder("AB\n");
+		for (int y = 0; y < 60; y++) {
+			for (int x = 0; x < 60; x++) {
+				input.append(x == 0 ? "" : ",").append(random.nextBoolean() ? 'A' : 'B');
+			}
+			input.append('\n');
+		}
+		WordSearch wordSearch = new WordSearch(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)));
+		WordSearch indexedWordSearch = wordSearch.withEngine(new SuffixArrayIndex(wordSearch.getGrid()));
+		for (int i = 0; i < 300; i++) {
+			StringBuilder word = new StringBuilder();
+			for (int length = 1 + random.nextInt(12); word.length() < length;) {
+				word.append(random.nextBoolean() ? 'A' : 'B');
+			}
+			assertEquals(wordSearch.findWord(word.toString()).getMatch(),
+					indexedWordSearch.findWord(word.toString()).getMatch(), word.toString());
+		}
+	}
+	
+	@Test
+	public void whenSearchForWordsFromTheirRarestLetterPairAndReturnTheSameLocations() throws WordNotFoundException {
+		BigramIndex index = new BigramIndex(wordSearchSize8.getGrid());
+		WordSearch indexedWordSearch = wordSearchSize8.withEngine(index);
+		for (String word : new String[] {"HIRO", "INK", "MIST", "NORTH", "MARKET", "FRICTION", "DISTANCE", "TT", "A", "ZOO", "ORINE"}) {
+			assertEquals(wordSearchSize8.findMatchForWord(word), indexedWordSearch.findMatchForWord(word));
+		}
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("BAD"));
+		assertThrows(WordNotFoundException.class, () -> indexedWordSearch.findLocationForWord("a"));
+		assertEquals(0, index.getCount('Q', 'Q'));
+		assertEquals(wordSearchSize8.print(), indexedWordSearch.print());
+	}
+	
+	@Test
+	public void whenMetricsAreEnabledAndPhasesAreTimedAndRecorded() throws Exception {
+		Path events = Files.createTempFile("word-search", ".jfr");
+		SearchMetrics.reset();
+		SearchMetrics.setEnabled(true);
+		try (Recording recording = new Recording()) {
+			recording.enable("com.kata.word.search.Phase");
+			recording.start();
+			WordSearch wordSearch = new WordSearch(getResourcePath("word-search-input-valid-size8.txt"));
+			wordSearch.getWords();
+			wordSearch.findLocationForWord("DISTANCE");
+			recording.stop();
+			recording.dump(events);
+
+			SearchMetrics metrics = SearchMetrics.snapshot();
+			assertEquals(1, metrics.getCount(Phase.PARSE));
+			assertEquals(1, metrics.getCount(Phase.READ));
+			assertEquals(2, metrics.getCount(Phase.SEARCH_ROWS));
+			assertEquals(16, metrics.getLinesScanned(Phase.SEARCH_ROWS));
+			assertEquals(0, metrics.getCount(Phase.SEARCH_ENGINE));
+			assertTrue(metrics.getCandidates(Phase.SEARCH_ROWS) > 0);
+			assertTrue(RecordingFile.readAllEvents(events).stream()
+					.anyMatch(event -> event.getString("phase").equals("SEARCH_ROWS")));
+		} finally {
+			SearchMetrics.setEnabled(false);
+			Files.delete(events);
+		}
+
+		SearchMetrics.reset();
+		wordSearchSize8.findLocationForWord("DISTANCE");
+		assertEquals(0, SearchMetrics.snapshot().getCount(Phase.SEARCH_ROWS));
+	}
+
+	@Test
+	public void whenOnlyAFlightRecordingIsStartedAndPhasesAreRecordedWithoutMetrics() throws Exception {
+		Path events = Files.createTempFile("word-search", ".jfr");
+		SearchMetrics.reset();
+		try (Recording recording = new Recording()) {
+			recording.enable("com.kata.word.search.Phase");
+			recording.start();
+			wordSearchSize8.findLocationForWord("DISTANCE");
+			recording.stop();
+			recording.dump(events);
+
+			assertTrue(RecordingFile.readAllEvents(events).stream()
+					.anyMatch(event -> event.getString("phase").equals("SEARCH_ROWS")));
+			assertEquals(0, SearchMetrics.snapshot().getCount(Phase.SEARCH_ROWS));
+		} finally {
+			Files.delete(events);
+		}
+	}
+	
 	@Test
 	public void whenPrintAllFoundWords() throws WordNotFoundException {
 		String foundWords = wordSearchSize6.print();